@@ -0,0 +1,201 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.DEBUG;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
+
+/**
+ * Tracks whether one SpeleoDB instance (origin) can be reached.
+ *
+ * <p>After {@link NETWORK#CIRCUIT_BREAKER_FAILURE_THRESHOLD} consecutive connect failures
+ * the breaker opens: requests then fail at once with {@link ServerOfflineException}
+ * instead of each waiting out the connect timeout. While open, a daemon thread probes the
+ * origin every {@link NETWORK#CIRCUIT_BREAKER_PROBE_INTERVAL_SECONDS} seconds and closes
+ * the breaker as soon as it answers. Only failures to connect count; an HTTP error status
+ * or a transfer broken mid-body means the server is there.</p>
+ */
+final class CircuitBreaker {
+
+    /**
+     * Notified, outside the breaker's lock, when the breaker opens or closes.
+     */
+    @FunctionalInterface
+    interface StateListener {
+        void onStateChange(String origin, boolean reachable);
+    }
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final String origin;
+    private final int failureThreshold;
+    private final long probeIntervalMillis;
+    private final Supplier<CompletableFuture<Boolean>> probe;
+    private final StateListener listener;
+
+    // Guarded by this
+    private int consecutiveFailures;
+    private boolean open;
+    private ScheduledThreadPoolExecutor scheduler;
+    private ScheduledFuture<?> probing;
+
+    CircuitBreaker(String origin, StateListener listener) {
+        this(origin, NETWORK.CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                TimeUnit.SECONDS.toMillis(NETWORK.CIRCUIT_BREAKER_PROBE_INTERVAL_SECONDS),
+                () -> HttpClientRegistry.getInstance().warmUp(origin), listener);
+    }
+
+    CircuitBreaker(String origin, int failureThreshold, long probeIntervalMillis,
+                   Supplier<CompletableFuture<Boolean>> probe, StateListener listener) {
+        this.origin = origin;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.probeIntervalMillis = probeIntervalMillis;
+        this.probe = probe;
+        this.listener = listener;
+    }
+
+    /**
+     * Fails fast while the origin is known to be unreachable.
+     *
+     * @throws ServerOfflineException if the breaker is open
+     */
+    void checkAvailable() throws ServerOfflineException {
+        if (isOpen()) {
+            throw new ServerOfflineException("SpeleoDB is unreachable (" + origin + "), working offline");
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Records that the origin answered a request.
+     */
+    void recordSuccess() {
+        boolean closed;
+        synchronized (this) {
+            consecutiveFailures = 0;
+            closed = open;
+            if (open) {
+                open = false;
+                cancelProbing();
+            }
+        }
+        if (closed) {
+            logger.info("SpeleoDB is reachable again (" + origin + ")");
+            listener.onStateChange(origin, true);
+        }
+    }
+
+    /**
+     * Records a failed request; only connect failures count towards opening the breaker.
+     */
+    void recordFailure(IOException error) {
+        if (!isConnectFailure(error)) {
+            return;
+        }
+        int failures;
+        boolean trip;
+        synchronized (this) {
+            failures = ++consecutiveFailures;
+            trip = !open && failures >= failureThreshold;
+        }
+        if (trip) {
+            trip();
+        } else {
+            logger.debug("Connect failure " + failures + "/" + failureThreshold + " for " + origin);
+        }
+    }
+
+    /**
+     * Records the outcome of an asynchronous request.
+     */
+    void recordOutcome(Throwable error) {
+        Throwable cause = (error != null && error.getCause() != null && !(error instanceof IOException))
+                ? error.getCause() : error;
+        if (cause == null) {
+            recordSuccess();
+        } else if (cause instanceof IOException ioException) {
+            recordFailure(ioException);
+        }
+    }
+
+    /**
+     * Opens the breaker right away, e.g. when the user starts offline, and starts probing.
+     */
+    void trip() {
+        synchronized (this) {
+            if (open) {
+                return;
+            }
+            open = true;
+            if (scheduler == null) {
+                scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                    Thread t = new Thread(r, DEBUG.CONNECTIVITY_PROBE_THREAD_NAME);
+                    t.setDaemon(true);
+                    return t;
+                });
+                scheduler.setRemoveOnCancelPolicy(true);
+            }
+            probing = scheduler.scheduleWithFixedDelay(this::probeOnce, probeIntervalMillis, probeIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        logger.warn("SpeleoDB is unreachable (" + origin + "), switching to offline mode");
+        listener.onStateChange(origin, false);
+    }
+
+    /**
+     * Stops probing and releases the probe thread.
+     */
+    synchronized void shutdown() {
+        cancelProbing();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Whether {@code error} means the origin could not be reached at all.
+     */
+    static boolean isConnectFailure(IOException error) {
+        return error instanceof ConnectException
+                || error instanceof HttpConnectTimeoutException
+                || error instanceof UnknownHostException
+                || error instanceof NoRouteToHostException;
+    }
+
+    private void probeOnce() {
+        boolean reachable;
+        try {
+            reachable = probe.get().get(NETWORK.WARM_UP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            reachable = false;
+        }
+        if (reachable) {
+            recordSuccess();
+        } else {
+            logger.debug("SpeleoDB still unreachable (" + origin + ")");
+        }
+    }
+
+    private void cancelProbing() {
+        if (probing != null) {
+            probing.cancel(false);
+            probing = null;
+        }
+    }
+}
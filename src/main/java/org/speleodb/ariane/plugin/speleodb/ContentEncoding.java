@@ -0,0 +1,144 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
+
+/**
+ * Transparent gzip for SpeleoDB's JSON responses, which {@link java.net.http.HttpClient}
+ * does not decode by itself.
+ *
+ * <p>JSON requests advertise {@link #acceptEncoding()} and read their responses through the
+ * body handlers below, which inflate a body sent with {@code Content-Encoding: gzip} and
+ * pass any other body through untouched. {@link #ofInputStream()} inflates while the body
+ * is read, so the streamed project listing is never held in memory, compressed or not.
+ * {@code -Dspeleodb.http.compression=false} asks for uncompressed responses.</p>
+ */
+final class ContentEncoding {
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * The {@code Accept-Encoding} value for JSON requests.
+     */
+    static String acceptEncoding() {
+        return Boolean.parseBoolean(System.getProperty(NETWORK.HTTP_COMPRESSION_PROPERTY, "true"))
+                ? HEADERS.GZIP : HEADERS.IDENTITY;
+    }
+
+    /**
+     * Like {@link HttpResponse.BodyHandlers#ofString()}, decoding a gzip body first.
+     */
+    static HttpResponse.BodyHandler<String> ofString() {
+        return info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                body -> new String(decode(body, info.headers()), charsetOf(info.headers())));
+    }
+
+    /**
+     * Like {@link HttpResponse.BodyHandlers#ofInputStream()}, inflating a gzip body as it
+     * is read.
+     */
+    static HttpResponse.BodyHandler<InputStream> ofInputStream() {
+        return info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                body -> isGzip(info.headers()) ? new GzipBodyInputStream(body) : body);
+    }
+
+    static boolean isGzip(HttpHeaders headers) {
+        return headers.firstValue(HEADERS.CONTENT_ENCODING)
+                .map(encoding -> encoding.trim().toLowerCase(Locale.ROOT))
+                .map(encoding -> encoding.equals(HEADERS.GZIP) || encoding.equals("x-gzip"))
+                .orElse(false);
+    }
+
+    private static byte[] decode(byte[] body, HttpHeaders headers) {
+        if (body.length == 0 || !isGzip(headers)) {
+            return body;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed gzip response body", e);
+        }
+    }
+
+    private static Charset charsetOf(HttpHeaders headers) {
+        String contentType = headers.firstValue(HEADERS.CONTENT_TYPE).orElse("");
+        for (String parameter : contentType.split(";")) {
+            String[] pair = parameter.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("charset")) {
+                try {
+                    return Charset.forName(pair[1].trim().replace("\"", ""));
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    break;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Inflates a gzip body on first read rather than in the body mapper, which runs on the
+     * client's executor and must not block on the gzip header. An empty body (e.g. an error
+     * without content) reads as empty instead of failing.
+     */
+    private static final class GzipBodyInputStream extends InputStream {
+        private final InputStream body;
+        private InputStream inflated;
+
+        GzipBodyInputStream(InputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return inflated().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return inflated().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return inflated == null ? 0 : inflated.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflated != null) {
+                inflated.close();
+            } else {
+                body.close();
+            }
+        }
+
+        private InputStream inflated() throws IOException {
+            if (inflated == null) {
+                PushbackInputStream in = new PushbackInputStream(body, 1);
+                int first = in.read();
+                if (first == -1) {
+                    inflated = in;
+                } else {
+                    in.unread(first);
+                    inflated = new GZIPInputStream(in);
+                }
+            }
+            return inflated;
+        }
+    }
+}
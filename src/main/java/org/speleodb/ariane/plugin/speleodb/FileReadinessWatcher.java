@@ -0,0 +1,194 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.TIMINGS;
+
+/**
+ * Detects when a file that another process is still writing has stopped changing, so
+ * expensive validation (a full ZIP/CRC pass) runs once per finished write instead of on
+ * every polling tick.
+ *
+ * <p>The parent directory is registered with a {@link WatchService}: create/modify events
+ * for the file wake the waiter immediately and restart its quiet window. Because some
+ * platforms only offer a slow polling {@code WatchService} (or none at all), every wake-up
+ * also compares the file's size and modification time, and waits are sliced to at most
+ * {@link TIMINGS#FILE_STABILITY_MAX_BACKOFF_MILLIS}; without a watch service the slices
+ * back off exponentially from {@link TIMINGS#FILE_STABILITY_INITIAL_BACKOFF_MILLIS}.</p>
+ */
+final class FileReadinessWatcher implements Closeable {
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final Path file;
+    private final WatchService watchService;
+
+    private FileReadinessWatcher(Path file, WatchService watchService) {
+        this.file = file;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Starts watching {@code file}. Never fails: if the directory cannot be watched the
+     * watcher falls back to size/modification-time polling.
+     */
+    static FileReadinessWatcher open(Path file) {
+        Path absolute = file.toAbsolutePath();
+        WatchService watchService = null;
+        try {
+            watchService = absolute.getFileSystem().newWatchService();
+            absolute.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("File watching unavailable for " + absolute.getFileName() + ", polling instead: " + e.getMessage());
+            closeQuietly(watchService);
+            watchService = null;
+        }
+        return new FileReadinessWatcher(absolute, watchService);
+    }
+
+    /**
+     * Waits until the file exists and has seen neither a change event nor a size or
+     * modification-time change for {@code quietMillis}. A file last modified longer ago
+     * than that is considered settled right away.
+     *
+     * @return true once the file is quiescent, false if {@code deadlineMillis} passes first
+     */
+    boolean awaitQuiescent(long quietMillis, long deadlineMillis) throws InterruptedException {
+        FileState seen = FileState.of(file);
+        long stableSince = System.currentTimeMillis();
+        if (seen != null && seen.lastModifiedMillis <= stableSince - quietMillis) {
+            return true;
+        }
+
+        long fallbackSleep = TIMINGS.FILE_STABILITY_INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (now >= deadlineMillis) {
+                return false;
+            }
+            long wait = Math.min(Math.max(stableSince + quietMillis - now, 1), deadlineMillis - now);
+            boolean touched = awaitEvent(wait, fallbackSleep);
+            fallbackSleep = Math.min(fallbackSleep * 2, TIMINGS.FILE_STABILITY_MAX_BACKOFF_MILLIS);
+
+            FileState current = FileState.of(file);
+            now = System.currentTimeMillis();
+            if (touched || current == null || !current.equals(seen)) {
+                seen = current;
+                stableSince = now;
+            } else if (now - stableSince >= quietMillis) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Waits until the file is written to again, e.g. after it settled in a state that
+     * failed validation.
+     *
+     * @return true on a change, false if {@code deadlineMillis} passes first
+     */
+    boolean awaitChange(long deadlineMillis) throws InterruptedException {
+        FileState seen = FileState.of(file);
+        long fallbackSleep = TIMINGS.FILE_STABILITY_INITIAL_BACKOFF_MILLIS;
+        long now;
+        while ((now = System.currentTimeMillis()) < deadlineMillis) {
+            boolean touched = awaitEvent(deadlineMillis - now, fallbackSleep);
+            fallbackSleep = Math.min(fallbackSleep * 2, TIMINGS.FILE_STABILITY_MAX_BACKOFF_MILLIS);
+            FileState current = FileState.of(file);
+            if (touched || (current == null ? seen != null : !current.equals(seen))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(watchService);
+    }
+
+    /**
+     * Blocks for at most {@code maxWaitMillis} (and one polling slice) for an event
+     * concerning the watched file.
+     */
+    private boolean awaitEvent(long maxWaitMillis, long fallbackSleepMillis) throws InterruptedException {
+        if (watchService == null) {
+            Thread.sleep(Math.min(maxWaitMillis, fallbackSleepMillis));
+            return false;
+        }
+        WatchKey key;
+        try {
+            key = watchService.poll(Math.min(maxWaitMillis, TIMINGS.FILE_STABILITY_MAX_BACKOFF_MILLIS),
+                    TimeUnit.MILLISECONDS);
+        } catch (ClosedWatchServiceException e) {
+            return false;
+        }
+        if (key == null) {
+            return false;
+        }
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // OVERFLOW means events were dropped; treat it as a change to be safe
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+
+    private static void closeQuietly(WatchService watchService) {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Error closing file watcher: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Size and modification time of the file at one point in time.
+     */
+    private static final class FileState {
+        private final long size;
+        private final long lastModifiedMillis;
+
+        private FileState(long size, long lastModifiedMillis) {
+            this.size = size;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        static FileState of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FileState that
+                    && size == that.size && lastModifiedMillis == that.lastModifiedMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(lastModifiedMillis);
+        }
+    }
+}
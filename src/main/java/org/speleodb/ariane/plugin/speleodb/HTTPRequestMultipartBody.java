@@ -2,7 +2,9 @@ package org.speleodb.ariane.plugin.speleodb;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -17,20 +19,37 @@ import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MULTIPART;
  * Helper class for building HTTP multipart form data request bodies.
  * Enables file uploads in HTTP requests while following standard multipart encoding.
  *
+ * Two modes are supported:
+ * - {@link Builder#build()} assembles the whole body in memory (small forms, tests).
+ * - {@link Builder#buildStreaming()} pre-encodes only the part headers and streams file
+ *   parts straight from disk through {@link #getBodyPublisher()}, so uploading a large
+ *   TML never holds a copy of it on the heap.
+ *
  * Usage:
  * HTTPRequestMultipartBody body = new HTTPRequestMultipartBody.Builder()
  *     .addPart("message", "Upload message")
  *     .addPart("file", file, "application/octet-stream", "filename.txt")
- *     .build();
+ *     .buildStreaming();
  */
 public class HTTPRequestMultipartBody {
 
     private final String boundary;
     private final byte[] body;
+    private final List<Object> segments;
+    private final long contentLength;
 
     private HTTPRequestMultipartBody(String boundary, byte[] body) {
         this.boundary = boundary;
         this.body = body;
+        this.segments = null;
+        this.contentLength = body.length;
+    }
+
+    private HTTPRequestMultipartBody(String boundary, List<Object> segments, long contentLength) {
+        this.boundary = boundary;
+        this.body = null;
+        this.segments = segments;
+        this.contentLength = contentLength;
     }
 
     public String getContentType() {
@@ -38,7 +57,43 @@ public class HTTPRequestMultipartBody {
     }
 
     public String getBoundary() { return this.boundary; }
-    public byte[] getBody() { return this.body; }
+
+    /**
+     * Returns the in-memory body. Only available for bodies created with {@link Builder#build()}.
+     *
+     * @throws IllegalStateException if this body was created with {@link Builder#buildStreaming()}
+     */
+    public byte[] getBody() {
+        if (body == null) {
+            throw new IllegalStateException(MESSAGES.ERROR_MULTIPART_BODY_NOT_BUFFERED);
+        }
+        return this.body;
+    }
+
+    /**
+     * Total number of bytes the body will produce, known up-front in both modes.
+     */
+    public long getContentLength() { return this.contentLength; }
+
+    /**
+     * Returns a publisher for this body. Streaming bodies concatenate the pre-encoded
+     * header bytes with file-backed publishers; each call creates a fresh publisher, so
+     * the request can be re-sent (e.g. on redirect).
+     *
+     * @throws FileNotFoundException if a file part no longer exists
+     */
+    public HttpRequest.BodyPublisher getBodyPublisher() throws FileNotFoundException {
+        if (body != null) {
+            return HttpRequest.BodyPublishers.ofByteArray(body);
+        }
+        List<HttpRequest.BodyPublisher> publishers = new ArrayList<>(segments.size());
+        for (Object segment : segments) {
+            publishers.add(segment instanceof Path file
+                    ? HttpRequest.BodyPublishers.ofFile(file)
+                    : HttpRequest.BodyPublishers.ofByteArray((byte[]) segment));
+        }
+        return HttpRequest.BodyPublishers.concat(publishers.toArray(HttpRequest.BodyPublisher[]::new));
+    }
 
     // Multipart constants for byte arrays
     private static final byte[] CRLF = MULTIPART.CRLF.getBytes(StandardCharsets.UTF_8);
@@ -85,6 +140,42 @@ public class HTTPRequestMultipartBody {
             return new HTTPRequestMultipartBody(boundary, body);
         }
 
+        /**
+         * Builds a streaming HTTPRequestMultipartBody: text parts and part headers are
+         * encoded now, file parts are only referenced and read when the body is published.
+         */
+        public HTTPRequestMultipartBody buildStreaming() throws IOException {
+            List<Object> segments = new ArrayList<>();
+            long contentLength = 0;
+            try (ByteArrayOutputStream pending = new ByteArrayOutputStream()) {
+                for (PartRecord part : parts) {
+                    writePartHeader(pending, part);
+                    if (part.isFile()) {
+                        Path filePath = part.getFile().toPath();
+                        long fileSize;
+                        try {
+                            fileSize = Files.size(filePath);
+                        } catch (IOException e) {
+                            throw new IOException(MESSAGES.ERROR_COPYING_FILE_CONTENT + part.getFile().getName(), e);
+                        }
+                        contentLength += pending.size() + fileSize;
+                        segments.add(pending.toByteArray());
+                        segments.add(filePath);
+                        pending.reset();
+                    } else {
+                        writeTextContent(pending, part);
+                    }
+                    pending.write(CRLF);
+                }
+                writeClosingBoundary(pending);
+                contentLength += pending.size();
+                segments.add(pending.toByteArray());
+            } catch (IOException e) {
+                throw new IOException(MESSAGES.ERROR_BUILDING_MULTIPART_BODY, e);
+            }
+            return new HTTPRequestMultipartBody(boundary, List.copyOf(segments), contentLength);
+        }
+
         /**
          * Generates a unique boundary string for this multipart request
          */
@@ -110,20 +201,9 @@ public class HTTPRequestMultipartBody {
         /**
          * Writes a single part to the output stream
          */
-        @SuppressWarnings("StringConcatenationInsideStringBufferAppend")
         private void writePart(ByteArrayOutputStream out, PartRecord record) throws IOException {
             try {
-                // Write part header
-                StringBuilder sb = new StringBuilder();
-                sb.append(MULTIPART.BOUNDARY_START).append(boundary).append(MULTIPART.CRLF)
-                    .append(MULTIPART.CONTENT_DISPOSITION_FORM_DATA).append(record.getFieldName());
-
-                if (record.getFilename() != null) {
-                    sb.append(MULTIPART.FILENAME_PARAM).append(record.getFilename());
-                }
-                sb.append(MULTIPART.QUOTE_CRLF);
-
-                out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+                writePartHeader(out, record);
 
                 // Write content based on type
                 if (record.isFile()) {
@@ -139,10 +219,23 @@ public class HTTPRequestMultipartBody {
         }
 
         /**
-         * Writes file content to the output stream
+         * Writes the boundary line and headers of a part. For file parts this includes
+         * the content-type header and the blank line, so file bytes can follow directly.
          */
-        private void writeFileContent(ByteArrayOutputStream out, PartRecord record) throws IOException {
-            try {
+        @SuppressWarnings("StringConcatenationInsideStringBufferAppend")
+        private void writePartHeader(ByteArrayOutputStream out, PartRecord record) throws IOException {
+            StringBuilder sb = new StringBuilder();
+            sb.append(MULTIPART.BOUNDARY_START).append(boundary).append(MULTIPART.CRLF)
+                .append(MULTIPART.CONTENT_DISPOSITION_FORM_DATA).append(record.getFieldName());
+
+            if (record.getFilename() != null) {
+                sb.append(MULTIPART.FILENAME_PARAM).append(record.getFilename());
+            }
+            sb.append(MULTIPART.QUOTE_CRLF);
+
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+
+            if (record.isFile()) {
                 // Write content type if specified
                 if (record.getContentType() != null) {
                     out.write(CONTENT_TYPE_PREFIX);
@@ -152,7 +245,14 @@ public class HTTPRequestMultipartBody {
                 } else {
                     out.write(OCTET_STREAM_HEADER); // Already includes \r\n\r\n
                 }
+            }
+        }
 
+        /**
+         * Writes file content to the output stream
+         */
+        private void writeFileContent(ByteArrayOutputStream out, PartRecord record) throws IOException {
+            try {
                 // Write file content directly - no extra CRLF needed
                 Path filePath = record.getFile().toPath();
                 byte[] fileBytes = Files.readAllBytes(filePath);
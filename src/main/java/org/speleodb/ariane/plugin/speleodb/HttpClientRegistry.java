@@ -0,0 +1,156 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
+
+/**
+ * Process-wide registry of long-lived {@link HttpClient}s, one per origin
+ * (scheme, host and port).
+ *
+ * <p>An HttpClient owns its connection pool, its HTTP/2 connections and its TLS session
+ * cache, so building a new one per call pays DNS, TCP and TLS again every time. All
+ * SpeleoDB calls (authenticated API, announcements, plugin releases and downloads) get
+ * their client from here instead, and {@link #warmUp} can open the connection to the
+ * saved instance before the user even presses CONNECT.</p>
+ */
+final class HttpClientRegistry {
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+    private static final HttpClientRegistry INSTANCE = new HttpClientRegistry();
+
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final AtomicLong clientsCreated = new AtomicLong();
+    private final AtomicLong cachedClientLookups = new AtomicLong();
+    private final AtomicLong warmUps = new AtomicLong();
+
+    HttpClientRegistry() {
+    }
+
+    static HttpClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shared client for the origin of {@code url}, creating it on first use.
+     * Plain-http origins (local development servers) use HTTP/1.1, others HTTP/2.
+     *
+     * @param url a full URL including its scheme, e.g. {@code https://www.speleodb.org/api/v2/}
+     */
+    HttpClient clientFor(String url) {
+        String origin = originOf(url);
+        HttpClient existing = clients.get(origin);
+        if (existing != null) {
+            cachedClientLookups.incrementAndGet();
+            return existing;
+        }
+        return clients.computeIfAbsent(origin, key -> {
+            clientsCreated.incrementAndGet();
+            logger.debug("Creating HTTP client for " + key);
+            return newClient(key);
+        });
+    }
+
+    /**
+     * Opens a connection to the origin of {@code url} in the background with a HEAD
+     * request, so that the next real request finds DNS, TCP and TLS already done.
+     * Failures are only logged.
+     *
+     * @return a future completing with true once the origin answered, false otherwise
+     */
+    CompletableFuture<Boolean> warmUp(String url) {
+        String origin;
+        HttpRequest request;
+        try {
+            origin = originOf(url);
+            request = HttpRequest.newBuilder(URI.create(origin + "/"))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(NETWORK.WARM_UP_TIMEOUT_SECONDS))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            logger.debug("Skipping HTTP warm-up for invalid URL: " + url);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        long start = System.nanoTime();
+        return clientFor(origin).sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        logger.debug("HTTP warm-up of " + origin + " failed: " + error.getMessage());
+                        return false;
+                    }
+                    warmUps.incrementAndGet();
+                    logger.debug("HTTP warm-up of " + origin + " done in "
+                            + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms ("
+                            + response.version() + ")");
+                    return true;
+                });
+    }
+
+    /**
+     * Number of clients built so far; stays at one per origin while clients are reused.
+     */
+    long clientsCreated() {
+        return clientsCreated.get();
+    }
+
+    /**
+     * Number of lookups answered with an already existing client. Says nothing about
+     * whether the client's connections were reused: the JDK client does not expose that.
+     */
+    long cachedClientLookups() {
+        return cachedClientLookups.get();
+    }
+
+    /**
+     * Number of warm-ups that reached their origin.
+     */
+    long warmUps() {
+        return warmUps.get();
+    }
+
+    /**
+     * One-line summary of the counters, for diagnostics.
+     */
+    String getStats() {
+        return "HTTP clients: " + clients.size() + " origins, " + clientsCreated.get() + " created, "
+                + cachedClientLookups.get() + " cached lookups, " + warmUps.get() + " warm-ups";
+    }
+
+    /**
+     * Reduces a URL to its lower-cased {@code scheme://host[:port]}.
+     *
+     * @throws IllegalArgumentException if {@code url} has no scheme or host
+     */
+    static String originOf(String url) {
+        URI uri = URI.create(url.trim());
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Not an absolute URL: " + url);
+        }
+        String origin = uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getHost().toLowerCase(Locale.ROOT);
+        return uri.getPort() == -1 ? origin : origin + ":" + uri.getPort();
+    }
+
+    private static HttpClient newClient(String origin) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(NETWORK.CONNECT_TIMEOUT_SECONDS))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+
+        if (origin.startsWith(NETWORK.HTTP_PROTOCOL)) {
+            builder = builder.version(HttpClient.Version.HTTP_1_1);
+        } else {
+            builder = builder.version(HttpClient.Version.HTTP_2);
+        }
+
+        return builder.build();
+    }
+}
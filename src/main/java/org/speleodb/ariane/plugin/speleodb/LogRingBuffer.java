@@ -0,0 +1,110 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer used by the asynchronous
+ * {@link SpeleoDBLogger} backend.
+ *
+ * <p>Each slot carries a sequence number (the classic bounded-queue scheme): a producer
+ * claims a slot with one CAS on the tail, writes the element and publishes it by bumping the
+ * slot's sequence; the single consumer reads published slots in order and hands them back by
+ * advancing their sequence one lap. Producers never block: {@link #offer} simply fails when
+ * the buffer is full.</p>
+ *
+ * @param <E> the element type
+ */
+final class LogRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only touched by the consumer thread
+    private long head;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends {@code element}; safe to call from any number of threads.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (available < 0) {
+                return false;
+            }
+            // Otherwise another producer claimed this position first: retry with the new tail
+        }
+        slots.set(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest published element. Must only be called from the consumer thread.
+     *
+     * @return the element, or null if nothing is published yet
+     */
+    E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + capacity);
+        head++;
+        return element;
+    }
+
+    /**
+     * Total number of elements ever accepted by {@link #offer}.
+     */
+    long offeredCount() {
+        return tail.get();
+    }
+
+    /**
+     * Whether nothing is waiting to be polled. Must only be called from the consumer thread.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
@@ -0,0 +1,126 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.ZipException;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+/**
+ * A TML file staged for upload together with the facts computed while staging it.
+ *
+ * <p>{@link #stage(Path, Path)} reads the source survey exactly once: the bytes are
+ * copied into the SDB project directory and SHA-256 hashed in the same pass, then the
+ * copy is checked by {@link TmlVerifier}, which only inflates entries that changed since
+ * the survey was last staged. The upload then reuses the staged file and digest instead
+ * of re-reading the survey for validation, copying, empty-template detection and
+ * multipart encoding.</p>
+ */
+public final class PreparedUpload {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String sha256;
+    private final long size;
+    private final int entryCount;
+
+    PreparedUpload(Path file, String sha256, long size, int entryCount) {
+        this.file = file;
+        this.sha256 = sha256;
+        this.size = size;
+        this.entryCount = entryCount;
+    }
+
+    public Path getFile() { return file; }
+    public String getSha256() { return sha256; }
+    public long getSize() { return size; }
+    public int getEntryCount() { return entryCount; }
+
+    /**
+     * Copies and hashes {@code source} in a single streaming read, then validates the copy
+     * as a complete ZIP with {@link TmlVerifier}. The copy is written to a temp file
+     * beside {@code target} and only moved over it once validation succeeds, so an
+     * invalid or half-written source never replaces a previously staged file.
+     *
+     * @param source the survey file written by Ariane
+     * @param target the staging location (normally {@code <SDB_PROJECT_DIR>/<id>.tml})
+     * @return the staged upload with its SHA-256 digest
+     * @throws ZipException if the source is not (yet) a complete, CRC-valid ZIP archive
+     * @throws IOException  if reading the source or writing the staged copy fails
+     */
+    public static PreparedUpload stage(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(),
+                target.getFileName().toString() + "-", PATHS.UPLOAD_STAGING_FILE_EXTENSION);
+        try {
+            MessageDigest digest = SpeleoDBService.newSha256Digest();
+            long size;
+
+            try (OutputStream out = Files.newOutputStream(tempFile);
+                 CopyingInputStream copying = new CopyingInputStream(Files.newInputStream(source), out, digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (copying.read(buffer) != -1) {
+                    // drain
+                }
+                size = copying.getCount();
+            }
+
+            // Verified under the target's identity so unchanged entries are skipped next time
+            int entryCount = TmlVerifier.getInstance().verify(tempFile, target);
+
+            SpeleoDBService.moveIntoPlace(tempFile, target);
+            return new PreparedUpload(target, HexFormat.of().formatHex(digest.digest()), size, entryCount);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Input stream that copies every byte it reads to a side output, feeds it to a
+     * digest and counts it.
+     */
+    private static final class CopyingInputStream extends FilterInputStream {
+        private final OutputStream copy;
+        private final MessageDigest digest;
+        private long count;
+
+        CopyingInputStream(InputStream in, OutputStream copy, MessageDigest digest) {
+            super(in);
+            this.copy = copy;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                copy.write(b);
+                digest.update((byte) b);
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                copy.write(b, off, n);
+                digest.update(b, off, n);
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
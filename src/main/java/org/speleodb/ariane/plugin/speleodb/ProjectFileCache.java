@@ -0,0 +1,337 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.JSON_FIELDS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonWriter;
+
+/**
+ * Remembers which server revision each downloaded {@code <id>.tml} corresponds to, so
+ * opening an unchanged project can load the local copy instead of downloading it again.
+ *
+ * <p>Each project gets a small sidecar file next to its TML recording the listing's
+ * {@code modified_date} at download time and the SHA-256 of the bytes as downloaded.
+ * A cached copy is only reused when both still match: the revision guards against
+ * newer server content, the digest against local edits or partial writes since the
+ * download.</p>
+ *
+ * <p>The sidecar also keeps the download's {@code ETag} / {@code Last-Modified}, so a
+ * caller that cannot trust the listing (it may predate another user's save) can ask the
+ * server with a conditional request whether the intact local copy is still current.</p>
+ *
+ * <p>For offline use it also keeps the last project listing of each instance, and hands
+ * out local copies regardless of their revision.</p>
+ *
+ * <p>For uploads it keeps the {@link TmlManifest} of the revision last uploaded or
+ * downloaded for each project: the base the next delta is computed against, and the
+ * digest that tells an unchanged survey apart without asking the server.</p>
+ */
+final class ProjectFileCache {
+
+    private static final String KEY_REVISION = "revision";
+    private static final String KEY_SHA256 = "sha256";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "last_modified";
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final Path directory;
+
+    ProjectFileCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the local TML for {@code project} if it is known to be the server's current
+     * revision, or empty when it must be (re-)downloaded.
+     */
+    Optional<Path> lookup(JsonObject project) {
+        String revision = revisionOf(project);
+        if (revision == null) {
+            return Optional.empty();
+        }
+        String projectId = project.getString(JSON_FIELDS.ID);
+        Optional<Properties> entry = intactEntry(projectId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!revision.equals(entry.get().getProperty(KEY_REVISION))) {
+            logger.debug("Cached TML for project " + projectId + " is stale");
+            return Optional.empty();
+        }
+        return Optional.of(tmlPath(projectId));
+    }
+
+    /**
+     * Returns the validators the server sent with the download of a project, provided the
+     * local TML is still exactly what was downloaded, or empty when a conditional request
+     * could not reuse it.
+     */
+    Optional<Validators> validators(String projectId) {
+        return intactEntry(projectId)
+                .map(entry -> new Validators(
+                        Optional.ofNullable(entry.getProperty(KEY_ETAG)),
+                        Optional.ofNullable(entry.getProperty(KEY_LAST_MODIFIED))))
+                .filter(validators -> !validators.isEmpty());
+    }
+
+    /**
+     * Records that {@code tmlFile} holds the revision of {@code project} described by its
+     * listing entry, and its manifest as the base of the next delta upload. Failures are
+     * logged and otherwise ignored: the cache is an optimization.
+     */
+    void record(JsonObject project, Path tmlFile) {
+        record(project, tmlFile, Validators.NONE);
+    }
+
+    /**
+     * Same as {@link #record(JsonObject, Path)}, also keeping the response validators for
+     * a later conditional download.
+     */
+    void record(JsonObject project, Path tmlFile, Validators validators) {
+        String projectId = project.getString(JSON_FIELDS.ID);
+        String sha256;
+        try {
+            sha256 = SpeleoDBService.calculateSHA256(tmlFile);
+        } catch (IOException e) {
+            logger.warn("Could not record TML cache entry for project " + projectId + ": " + e.getMessage());
+            invalidate(projectId);
+            return;
+        }
+        recordManifest(projectId, tmlFile, sha256);
+
+        String revision = revisionOf(project);
+        if (revision == null && validators.isEmpty()) {
+            invalidate(projectId);
+            return;
+        }
+
+        try {
+            Properties entry = new Properties();
+            if (revision != null) {
+                entry.setProperty(KEY_REVISION, revision);
+            }
+            entry.setProperty(KEY_SHA256, sha256);
+            validators.etag().ifPresent(etag -> entry.setProperty(KEY_ETAG, etag));
+            validators.lastModified().ifPresent(date -> entry.setProperty(KEY_LAST_MODIFIED, date));
+
+            Path entryFile = entryPath(projectId);
+            Path tempFile = Files.createTempFile(directory, projectId + "-", PATHS.DOWNLOAD_TEMP_FILE_EXTENSION);
+            try {
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    entry.store(out, null);
+                }
+                SpeleoDBService.moveIntoPlace(tempFile, entryFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not record TML cache entry for project " + projectId + ": " + e.getMessage());
+            invalidate(projectId);
+        }
+    }
+
+    /**
+     * Returns the local TML of a project whatever its revision, or empty if it was never
+     * downloaded.
+     */
+    Optional<Path> localCopy(String projectId) {
+        Path tmlFile = tmlPath(projectId);
+        return Files.isRegularFile(tmlFile) ? Optional.of(tmlFile) : Optional.empty();
+    }
+
+    /**
+     * Records {@code tmlFile}, whose SHA-256 is {@code sha256}, as the revision the server
+     * holds for a project. Files that are not ZIP archives have no manifest and clear it.
+     */
+    void recordManifest(String projectId, Path tmlFile, String sha256) {
+        Path manifestFile = manifestPath(projectId);
+        try {
+            TmlManifest manifest = TmlManifest.of(tmlFile, sha256);
+            Path tempFile = Files.createTempFile(directory, projectId + "-", PATHS.DOWNLOAD_TEMP_FILE_EXTENSION);
+            try {
+                manifest.store(tempFile);
+                SpeleoDBService.moveIntoPlace(tempFile, manifestFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            logger.debug("No TML manifest recorded for project " + projectId + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(manifestFile);
+            } catch (IOException ignored) {
+                // A stale manifest only costs a rejected delta and a full upload
+            }
+        }
+    }
+
+    /**
+     * Returns the manifest of the revision last uploaded or downloaded for a project.
+     */
+    Optional<TmlManifest> manifest(String projectId) {
+        Path manifestFile = manifestPath(projectId);
+        if (!Files.isRegularFile(manifestFile)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TmlManifest.load(manifestFile));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug("Ignoring unreadable TML manifest for project " + projectId + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the SHA-256 of the revision last uploaded or downloaded for a project.
+     */
+    Optional<String> lastSyncedSha256(String projectId) {
+        return manifest(projectId).map(TmlManifest::sha256);
+    }
+
+    /**
+     * Saves the filtered project listing of {@code instanceUrl}, replacing the previous one.
+     * Failures are logged and otherwise ignored.
+     */
+    void saveListing(String instanceUrl, JsonArray projects) {
+        try {
+            Path listingFile = listingPath(instanceUrl);
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "listing-", PATHS.DOWNLOAD_TEMP_FILE_EXTENSION);
+            try {
+                try (Writer out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+                     JsonWriter writer = Json.createWriter(out)) {
+                    writer.writeArray(projects);
+                }
+                SpeleoDBService.moveIntoPlace(tempFile, listingFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not save project listing for offline use: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the last listing saved for {@code instanceUrl}, or empty if there is none.
+     */
+    Optional<JsonArray> loadListing(String instanceUrl) {
+        try {
+            Path listingFile = listingPath(instanceUrl);
+            if (!Files.isRegularFile(listingFile)) {
+                return Optional.empty();
+            }
+            try (Reader in = Files.newBufferedReader(listingFile, StandardCharsets.UTF_8);
+                 JsonReader reader = Json.createReader(in)) {
+                return Optional.of(reader.readArray());
+            }
+        } catch (IOException | IllegalArgumentException | JsonException e) {
+            logger.debug("Ignoring unreadable saved project listing: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forgets the cached revision of a project so its next open downloads it again.
+     */
+    void invalidate(String projectId) {
+        try {
+            Files.deleteIfExists(entryPath(projectId));
+        } catch (IOException e) {
+            logger.warn("Could not remove TML cache entry for project " + projectId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the sidecar of a project, provided its TML still has the recorded digest.
+     */
+    private Optional<Properties> intactEntry(String projectId) {
+        Path tmlFile = tmlPath(projectId);
+        Path entryFile = entryPath(projectId);
+        if (!Files.isRegularFile(tmlFile) || !Files.isRegularFile(entryFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            Properties entry = new Properties();
+            try (InputStream in = Files.newInputStream(entryFile)) {
+                entry.load(in);
+            }
+            if (!SpeleoDBService.calculateSHA256(tmlFile).equals(entry.getProperty(KEY_SHA256))) {
+                logger.debug("Cached TML for project " + projectId + " changed locally since download");
+                return Optional.empty();
+            }
+            return Optional.of(entry);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug("Ignoring unreadable TML cache entry for project " + projectId + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String revisionOf(JsonObject project) {
+        String revision = project.getString(JSON_FIELDS.MODIFIED_DATE, "");
+        return revision.isBlank() ? null : revision;
+    }
+
+    private Path tmlPath(String projectId) {
+        return directory.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+    }
+
+    private Path entryPath(String projectId) {
+        return directory.resolve(projectId + PATHS.PROJECT_CACHE_ENTRY_EXTENSION);
+    }
+
+    private Path manifestPath(String projectId) {
+        return directory.resolve(projectId + PATHS.PROJECT_MANIFEST_EXTENSION);
+    }
+
+    private Path listingPath(String instanceUrl) {
+        // One file per origin, e.g. "https_www.speleodb.org.listing.json"
+        String origin = HttpClientRegistry.originOf(instanceUrl).replace("://", "_").replaceAll("[^A-Za-z0-9._-]", "_");
+        return directory.resolve(origin + PATHS.PROJECT_LISTING_FILE_SUFFIX);
+    }
+
+    /**
+     * The {@code ETag} and {@code Last-Modified} a project was downloaded with, either of
+     * which may be absent.
+     */
+    static final class Validators {
+
+        static final Validators NONE = new Validators(Optional.empty(), Optional.empty());
+
+        private final Optional<String> etag;
+        private final Optional<String> lastModified;
+
+        Validators(Optional<String> etag, Optional<String> lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        Optional<String> etag() {
+            return etag;
+        }
+
+        Optional<String> lastModified() {
+            return lastModified;
+        }
+
+        boolean isEmpty() {
+            return etag.isEmpty() && lastModified.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.util.function.Consumer;
+
+import jakarta.json.JsonObject;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * Recycling cell for the SpeleoDB project list.
+ *
+ * <p>The ListView only creates as many cells as fit in its viewport and rebinds them to
+ * other projects while scrolling, so the card nodes below are allocated once per visible
+ * row instead of once per project. {@link #updateItem} just copies the labels precomputed
+ * by {@link ProjectSummary} into the texts.</p>
+ */
+final class ProjectListCell extends ListCell<ProjectSummary> {
+
+    private final Button button = new Button();
+    private final VBox card = new VBox();
+    private final Text nameText = new Text();
+    private final Text permissionText = new Text();
+    private final Text lockStateText = new Text();
+    private final Text lockOwnerText = new Text();
+    private final Text lockCreatedText = new Text();
+    private final Text lockModifiedText = new Text();
+
+    /**
+     * @param listView the list this cell renders into, used to size the card
+     * @param onOpen   called with the project when its card is clicked
+     */
+    ProjectListCell(ListView<ProjectSummary> listView, Consumer<JsonObject> onOpen) {
+        nameText.setFont(Font.font(Font.getDefault().getName(), FontWeight.BOLD, Font.getDefault().getSize()));
+        card.setMaxWidth(Double.MAX_VALUE);
+
+        button.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        button.setGraphic(card);
+
+        // Make the button scale with the ListView width; bound once for the cell's lifetime
+        button.setMaxWidth(Double.MAX_VALUE);
+        button.prefWidthProperty().bind(listView.widthProperty().subtract(20)); // 20px for scrollbar/padding
+
+        // Resolve the project at click time: the cell may have been rebound since creation
+        button.setOnAction(event -> {
+            ProjectSummary project = getItem();
+            if (project != null) {
+                onOpen.accept(project.json());
+            }
+        });
+
+        setText(null);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(ProjectSummary project, boolean empty) {
+        super.updateItem(project, empty);
+
+        if (empty || project == null) {
+            button.setUserData(null);
+            setGraphic(null);
+            return;
+        }
+
+        nameText.setText(project.name());
+        permissionText.setText(project.permission());
+
+        if (project.isLocked()) {
+            lockStateText.setText("Locked");
+            lockOwnerText.setText("by " + project.lockOwner());
+            lockCreatedText.setText("on " + project.lockCreatedLabel());
+            lockModifiedText.setText("(mod) " + project.lockModifiedLabel());
+            card.getChildren().setAll(nameText, permissionText, lockStateText,
+                    lockOwnerText, lockCreatedText, lockModifiedText);
+        } else {
+            lockStateText.setText("Not Locked");
+            card.getChildren().setAll(nameText, permissionText, lockStateText);
+        }
+
+        // Store project metadata as user data for later retrieval.
+        button.setUserData(project.json());
+        setGraphic(button);
+    }
+}
@@ -0,0 +1,85 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Brings a displayed project list in line with a freshly fetched one using the fewest
+ * individual list operations.
+ *
+ * <p>Rows are matched by project id. Rows whose project disappeared are removed, new
+ * projects are inserted at their sorted position, and rows whose content changed (a lock
+ * taken or released, a rename) are replaced in place. Rows that did not change are not
+ * touched at all, so on an observable list an unchanged listing fires no events and the
+ * ListView keeps its scroll position, selection and cells.</p>
+ */
+final class ProjectListDiff {
+
+    private ProjectListDiff() {
+    }
+
+    /**
+     * Edits {@code current} in place until it equals {@code target}.
+     *
+     * @param current the displayed rows, modified in place
+     * @param target  the desired rows, in display order; ids must be unique
+     * @param idOf    extracts the project id from a row
+     * @return the number of insert, remove and replace operations applied
+     */
+    static <T> int apply(List<T> current, List<T> target, Function<T, String> idOf) {
+        int operations = 0;
+
+        Set<String> targetIds = new HashSet<>(target.size() * 2);
+        for (T row : target) {
+            targetIds.add(idOf.apply(row));
+        }
+
+        // Removals first, from the end so indices stay valid
+        Set<String> currentIds = new HashSet<>(current.size() * 2);
+        for (int i = current.size() - 1; i >= 0; i--) {
+            String id = idOf.apply(current.get(i));
+            if (!targetIds.contains(id)) {
+                current.remove(i);
+                operations++;
+            } else {
+                currentIds.add(id);
+            }
+        }
+
+        for (int i = 0; i < target.size(); i++) {
+            T wanted = target.get(i);
+            String id = idOf.apply(wanted);
+
+            if (i < current.size() && id.equals(idOf.apply(current.get(i)))) {
+                if (!Objects.equals(current.get(i), wanted)) {
+                    current.set(i, wanted);
+                    operations++;
+                }
+                continue;
+            }
+
+            if (currentIds.contains(id)) {
+                // The row moved (e.g. its modified date changed under date sorting)
+                for (int j = i + 1; j < current.size(); j++) {
+                    if (id.equals(idOf.apply(current.get(j)))) {
+                        current.remove(j);
+                        operations++;
+                        break;
+                    }
+                }
+            }
+            current.add(i, wanted);
+            operations++;
+        }
+
+        // Duplicate ids in the displayed list are the only way rows can be left over
+        while (current.size() > target.size()) {
+            current.remove(current.size() - 1);
+            operations++;
+        }
+        return operations;
+    }
+}
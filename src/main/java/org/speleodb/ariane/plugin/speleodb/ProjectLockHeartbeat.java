@@ -0,0 +1,191 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.DEBUG;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.TIMINGS;
+
+import jakarta.json.JsonObject;
+
+/**
+ * Keeps the server-side mutex of the currently held project alive while the user works.
+ *
+ * <p>A single daemon thread re-sends the acquire/refresh request every
+ * {@link TIMINGS#LOCK_HEARTBEAT_INTERVAL_MILLIS} (with jitter so many clients do not beat
+ * in lockstep). Network failures are retried with exponential backoff and never reach the
+ * UI; only a refused refresh, meaning the lock now belongs to someone else or expired, is
+ * reported through {@link LockLostListener}. Each beat re-reads the held project, so the
+ * heartbeat goes idle on its own once the lock is released.</p>
+ */
+final class ProjectLockHeartbeat {
+
+    /**
+     * Sends one acquire/refresh request for {@code project}. A failure that says nothing
+     * about the lock (network error, 5xx, ...) must be thrown, not reported as false.
+     *
+     * @return true if the server still grants the lock to this client, false if it refused.
+     */
+    @FunctionalInterface
+    interface LockRefresher {
+        boolean refresh(JsonObject project) throws Exception;
+    }
+
+    /**
+     * Notified, on the heartbeat thread, when the server refuses to refresh a held lock.
+     */
+    @FunctionalInterface
+    interface LockLostListener {
+        void onLockLost(JsonObject project);
+    }
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final Supplier<JsonObject> heldProject;
+    private final LockRefresher refresher;
+    private final LockLostListener listener;
+    private final long intervalMillis;
+    private final long retryInitialMillis;
+    private final long retryMaxMillis;
+
+    // Guarded by this
+    private ScheduledThreadPoolExecutor scheduler;
+    private ScheduledFuture<?> pending;
+    private long generation;
+    private boolean shutdown;
+
+    ProjectLockHeartbeat(Supplier<JsonObject> heldProject, LockRefresher refresher, LockLostListener listener) {
+        this(heldProject, refresher, listener, TIMINGS.LOCK_HEARTBEAT_INTERVAL_MILLIS,
+                TIMINGS.LOCK_HEARTBEAT_RETRY_INITIAL_MILLIS, TIMINGS.LOCK_HEARTBEAT_RETRY_MAX_MILLIS);
+    }
+
+    ProjectLockHeartbeat(Supplier<JsonObject> heldProject, LockRefresher refresher, LockLostListener listener,
+            long intervalMillis, long retryInitialMillis, long retryMaxMillis) {
+        this.heldProject = heldProject;
+        this.refresher = refresher;
+        this.listener = listener;
+        this.intervalMillis = intervalMillis;
+        this.retryInitialMillis = retryInitialMillis;
+        this.retryMaxMillis = retryMaxMillis;
+    }
+
+    /**
+     * Starts beating for whichever project is held, restarting the schedule if already running.
+     */
+    synchronized void start() {
+        if (shutdown) {
+            return;
+        }
+        cancelPending();
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, DEBUG.LOCK_HEARTBEAT_THREAD_NAME);
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+        }
+        long beatGeneration = generation;
+        pending = scheduler.schedule(() -> beat(beatGeneration, 0), jittered(intervalMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops beating; a beat already in flight finishes but does not reschedule.
+     */
+    synchronized void stop() {
+        cancelPending();
+    }
+
+    /**
+     * Stops beating for good and releases the heartbeat thread.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        cancelPending();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return pending != null;
+    }
+
+    private void beat(long beatGeneration, int failuresBefore) {
+        JsonObject project = heldProject.get();
+        if (project == null) {
+            finish(beatGeneration);
+            return;
+        }
+
+        int failures = 0;
+        long nextDelay;
+        try {
+            if (!refresher.refresh(project)) {
+                finish(beatGeneration);
+                // Only report if the user still holds this project and we were not stopped meanwhile
+                if (project == heldProject.get() && isCurrent(beatGeneration)) {
+                    logger.warn("Lock refresh refused for project " + project.getString("name", "") + "; lock lost");
+                    listener.onLockLost(project);
+                }
+                return;
+            }
+            if (failuresBefore > 0) {
+                logger.info("Lock heartbeat recovered after " + failuresBefore + " failed attempt(s)");
+            }
+            nextDelay = jittered(intervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            failures = failuresBefore + 1;
+            if (failures == 1) {
+                logger.warn("Lock heartbeat failed, retrying with backoff: " + e.getMessage());
+            } else {
+                logger.debug("Lock heartbeat attempt " + failures + " failed: " + e.getMessage());
+            }
+            nextDelay = jittered(backoffMillis(failures));
+        }
+
+        int failuresSoFar = failures;
+        synchronized (this) {
+            if (beatGeneration != generation || scheduler == null) {
+                return;
+            }
+            pending = scheduler.schedule(() -> beat(beatGeneration, failuresSoFar), nextDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long backoffMillis(int failures) {
+        long delay = retryInitialMillis << Math.min(failures - 1, 20);
+        return Math.min(delay, retryMaxMillis);
+    }
+
+    private static long jittered(long millis) {
+        long spread = (long) (millis * TIMINGS.LOCK_HEARTBEAT_JITTER_RATIO);
+        return spread <= 0 ? millis : millis - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    private synchronized boolean isCurrent(long beatGeneration) {
+        return beatGeneration == generation && !shutdown;
+    }
+
+    private synchronized void finish(long beatGeneration) {
+        if (beatGeneration == generation) {
+            pending = null;
+        }
+    }
+
+    private void cancelPending() {
+        // Invalidates any beat in flight so it neither reschedules nor reports
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over one project listing, backing the project search box.
+ *
+ * <p>Every project contributes the tokens of its name, its permission and its lock owner,
+ * lower-cased and stripped of accents. A query matches a project when each of its terms is
+ * a prefix of one of the project's tokens, so {@code "gro alp"} finds "Grotte Alpha" and
+ * {@code "alice"} finds the projects locked by alice.</p>
+ *
+ * <p>All tokens are kept in one sorted array, so a term resolves to a contiguous range found
+ * by binary search. While the user keeps typing (each query extends the previous one) only
+ * the previous matches are re-checked. The index is immutable apart from that one-entry
+ * query cache and is meant to be queried from the FX thread only.</p>
+ */
+final class ProjectSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, Integer> ordinals;
+    private final String[][] projectTokens;
+    private final String[] sortedTokens;
+    private final int[] sortedOrdinals;
+
+    private String lastQuery;
+    private BitSet lastMatches;
+
+    ProjectSearchIndex(List<ProjectSummary> projects) {
+        ordinals = new HashMap<>(projects.size() * 2);
+        projectTokens = new String[projects.size()][];
+        List<TokenEntry> entries = new ArrayList<>(projects.size() * 4);
+
+        for (int ordinal = 0; ordinal < projects.size(); ordinal++) {
+            ProjectSummary project = projects.get(ordinal);
+            ordinals.put(project.id(), ordinal);
+
+            List<String> tokens = new ArrayList<>();
+            tokens.addAll(tokenize(project.name()));
+            tokens.addAll(tokenize(project.permission()));
+            if (project.isLocked()) {
+                tokens.addAll(tokenize(project.lockOwner()));
+            }
+            projectTokens[ordinal] = tokens.toArray(String[]::new);
+            for (String token : projectTokens[ordinal]) {
+                entries.add(new TokenEntry(token, ordinal));
+            }
+        }
+
+        entries.sort((a, b) -> a.token.compareTo(b.token));
+        sortedTokens = new String[entries.size()];
+        sortedOrdinals = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            sortedTokens[i] = entries.get(i).token;
+            sortedOrdinals[i] = entries.get(i).ordinal;
+        }
+    }
+
+    /**
+     * Builds the list filter for {@code query}.
+     *
+     * @return a predicate accepting the matching projects, or null when the query is blank
+     *         and every project should be shown
+     */
+    Predicate<ProjectSummary> filter(String query) {
+        String normalized = normalize(query == null ? "" : query).strip();
+        List<String> terms = tokenize(normalized);
+        if (terms.isEmpty()) {
+            lastQuery = null;
+            lastMatches = null;
+            return null;
+        }
+
+        BitSet matches;
+        if (lastQuery != null && normalized.startsWith(lastQuery)) {
+            // Typing narrows the result: only the previous matches can still match
+            matches = (BitSet) lastMatches.clone();
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (!matchesAll(projectTokens[ordinal], terms)) {
+                    matches.clear(ordinal);
+                }
+            }
+        } else {
+            matches = search(terms);
+        }
+
+        lastQuery = normalized;
+        lastMatches = matches;
+
+        BitSet result = matches;
+        return project -> {
+            Integer ordinal = ordinals.get(project.id());
+            return ordinal != null && result.get(ordinal);
+        };
+    }
+
+    private BitSet search(List<String> terms) {
+        BitSet matches = null;
+        for (String term : terms) {
+            BitSet termMatches = new BitSet(projectTokens.length);
+            for (int i = lowerBound(term); i < sortedTokens.length && sortedTokens[i].startsWith(term); i++) {
+                termMatches.set(sortedOrdinals[i]);
+            }
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.and(termMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches == null ? new BitSet() : matches;
+    }
+
+    private int lowerBound(String term) {
+        int index = Arrays.binarySearch(sortedTokens, term);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // Step back over duplicates of the exact token
+        while (index > 0 && sortedTokens[index - 1].equals(term)) {
+            index--;
+        }
+        return index;
+    }
+
+    private static boolean matchesAll(String[] tokens, List<String> terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cases and strips accents so that "Élan" and "elan" index the same way.
+     */
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class TokenEntry {
+        private final String token;
+        private final int ordinal;
+
+        private TokenEntry(String token, int ordinal) {
+            this.token = token;
+            this.ordinal = ordinal;
+        }
+    }
+}
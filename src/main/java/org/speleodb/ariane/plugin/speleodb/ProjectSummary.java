@@ -0,0 +1,196 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.AccessLevel;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.JSON_FIELDS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.SortMode;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+/**
+ * Immutable, pre-parsed view of one entry of the project listing.
+ *
+ * <p>Built once per listing, off the FX thread: sort keys, dates and the labels shown on the
+ * project card are computed here so that sorting and cell rendering never parse or format
+ * anything. The listing JSON is kept as-is for the open/lock flows, and equality follows
+ * it, so two summaries are equal exactly when the server sent the same project data.</p>
+ */
+final class ProjectSummary {
+
+    static final Comparator<ProjectSummary> BY_NAME =
+            Comparator.comparing((ProjectSummary project) -> project.nameKey);
+
+    // Most recent first; projects without a parsable date go last
+    static final Comparator<ProjectSummary> BY_DATE =
+            Comparator.comparing((ProjectSummary project) -> project.modified,
+                    Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private static final DateTimeFormatter LABEL_FORMATTER = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM);
+
+    private final JsonObject json;
+    private final String id;
+    private final String name;
+    private final String nameKey;
+    private final String permission;
+    private final AccessLevel accessLevel;
+    private final Instant modified;
+    private final String lockOwner;
+    private final String lockCreatedLabel;
+    private final String lockModifiedLabel;
+
+    private ProjectSummary(JsonObject json) {
+        this.json = json;
+        this.id = json.getString(JSON_FIELDS.ID);
+        this.name = json.getString(JSON_FIELDS.NAME, "");
+        this.nameKey = name.toLowerCase(Locale.ROOT);
+        this.permission = json.getString(JSON_FIELDS.PERMISSION, "");
+        this.accessLevel = AccessLevel.fromString(permission);
+        this.modified = parseInstant(json.getString(JSON_FIELDS.MODIFIED_DATE, null));
+
+        JsonValue mutex = json.get("active_mutex");
+        if (mutex == null || mutex.getValueType() == JsonValue.ValueType.NULL) {
+            this.lockOwner = null;
+            this.lockCreatedLabel = null;
+            this.lockModifiedLabel = null;
+        } else {
+            JsonObject mutexObj = mutex.asJsonObject();
+            this.lockOwner = mutexObj.getString("user", "");
+            this.lockCreatedLabel = formatLabel(mutexObj.getString("creation_date", ""));
+            this.lockModifiedLabel = formatLabel(mutexObj.getString(JSON_FIELDS.MODIFIED_DATE, ""));
+        }
+    }
+
+    static ProjectSummary of(JsonObject json) {
+        return new ProjectSummary(json);
+    }
+
+    /**
+     * Parses every entry of a project listing.
+     */
+    static List<ProjectSummary> fromListing(JsonArray projectList) {
+        List<ProjectSummary> projects = new ArrayList<>(projectList.size());
+        for (JsonValue jsonValue : projectList) {
+            projects.add(new ProjectSummary(jsonValue.asJsonObject()));
+        }
+        return projects;
+    }
+
+    static Comparator<ProjectSummary> comparator(SortMode sortMode) {
+        return sortMode == SortMode.BY_DATE ? BY_DATE : BY_NAME;
+    }
+
+    JsonObject json() {
+        return json;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Lower-cased name used for sorting and searching.
+     */
+    String nameKey() {
+        return nameKey;
+    }
+
+    String permission() {
+        return permission;
+    }
+
+    AccessLevel accessLevel() {
+        return accessLevel;
+    }
+
+    /**
+     * @return the project's last modification, or null if the listing had none
+     */
+    Instant modified() {
+        return modified;
+    }
+
+    boolean isLocked() {
+        return lockOwner != null;
+    }
+
+    /**
+     * @return the user holding the project lock, or null if unlocked
+     */
+    String lockOwner() {
+        return lockOwner;
+    }
+
+    String lockCreatedLabel() {
+        return lockCreatedLabel;
+    }
+
+    String lockModifiedLabel() {
+        return lockModifiedLabel;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ProjectSummary that && json.equals(that.json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + id + ")";
+    }
+
+    /**
+     * Accepts both offset timestamps and the server's zone-less ones, which are local time.
+     */
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static String formatLabel(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).format(LABEL_FORMATTER);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value).format(LABEL_FORMATTER);
+            } catch (DateTimeParseException ignored) {
+                // Show what the server sent rather than dropping the line
+                return value;
+            }
+        }
+    }
+}
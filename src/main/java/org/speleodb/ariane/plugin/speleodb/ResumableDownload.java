@@ -0,0 +1,214 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HTTP_STATUS;
+
+/**
+ * Partial-download state of one project TML, kept on disk so an interrupted transfer
+ * can be resumed with an HTTP range request instead of starting over.
+ *
+ * <p>The bytes received so far live in {@code partialFile}; the validator the server
+ * sent with the original 200 response (a strong {@code ETag}, else {@code Last-Modified})
+ * lives in a small sidecar. A resume sends {@code Range: bytes=<size>-} together with
+ * {@code If-Range: <validator>}: a matching 206 is appended to the partial file, while a
+ * 200 (server ignored the range, or the file changed) rewrites it from scratch. A partial
+ * file without a validator is never resumed.</p>
+ */
+final class ResumableDownload {
+
+    private static final String KEY_VALIDATOR = "validator";
+    private static final Pattern CONTENT_RANGE_START = Pattern.compile("^bytes\\s+(\\d+)-\\d+/(\\d+|\\*)$");
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final Path partialFile;
+    private final Path validatorFile;
+
+    /** Offset the last request asked to resume from; the partial file grows past it. */
+    private volatile long requestedOffset;
+
+    ResumableDownload(Path partialFile, Path validatorFile) {
+        this.partialFile = partialFile;
+        this.validatorFile = validatorFile;
+    }
+
+    Path getPartialFile() {
+        return partialFile;
+    }
+
+    /**
+     * Number of bytes that can be resumed from, or 0 when the next request must be a
+     * full download.
+     */
+    long resumeOffset() {
+        if (readValidator().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Files.isRegularFile(partialFile) ? Files.size(partialFile) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Adds {@code Range} / {@code If-Range} to {@code builder} when a resumable partial
+     * file exists.
+     */
+    HttpRequest.Builder applyRangeHeaders(HttpRequest.Builder builder) {
+        long offset = resumeOffset();
+        Optional<String> validator = readValidator();
+        if (offset > 0 && validator.isPresent()) {
+            builder.setHeader(HEADERS.RANGE, "bytes=" + offset + "-");
+            builder.setHeader(HEADERS.IF_RANGE, validator.get());
+            requestedOffset = offset;
+        } else {
+            requestedOffset = 0;
+        }
+        return builder;
+    }
+
+    /**
+     * Body handler streaming a full (200) body over the partial file, a matching 206 onto
+     * its end, and buffering any other status (error envelopes) in memory. For 2xx bodies
+     * the mapped body is {@code null}. A 206 whose range does not start at the requested
+     * offset is discarded; {@link #isUsablePartialResponse} reports it.
+     */
+    HttpResponse.BodyHandler<byte[]> bodyHandler() {
+        return responseInfo -> {
+            int status = responseInfo.statusCode();
+            if (status == HTTP_STATUS.OK) {
+                // Drop stale bytes before the new validator can vouch for them
+                deleteQuietly(partialFile);
+                writeValidator(validatorOf(responseInfo.headers()));
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofFile(partialFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                        path -> null);
+            }
+            if (status == HTTP_STATUS.PARTIAL_CONTENT) {
+                if (!isUsablePartialResponse(responseInfo.headers())) {
+                    return HttpResponse.BodySubscribers.replacing(null);
+                }
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofFile(partialFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                        path -> null);
+            }
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+    }
+
+    /**
+     * Whether a 206 response continues exactly where the partial file ended when the
+     * request was built. Compared against that offset rather than the file size, which
+     * has already grown by the time the response is handled.
+     */
+    boolean isUsablePartialResponse(HttpHeaders headers) {
+        OptionalLong start = contentRangeStart(headers);
+        return start.isPresent() && start.getAsLong() == requestedOffset && start.getAsLong() > 0;
+    }
+
+    /**
+     * Whether a failed transfer left something worth resuming from.
+     */
+    boolean canResume() {
+        return resumeOffset() > 0;
+    }
+
+    /**
+     * Clears the validator once the partial file has been promoted to its final location.
+     */
+    void complete() {
+        deleteQuietly(validatorFile);
+    }
+
+    /**
+     * Deletes the partial file and its validator so the next request starts from zero.
+     */
+    void discard() {
+        deleteQuietly(partialFile);
+        deleteQuietly(validatorFile);
+    }
+
+    /**
+     * Keeps the partial file only if it can be resumed later, otherwise deletes it.
+     */
+    void discardUnlessResumable() {
+        if (!canResume()) {
+            discard();
+        }
+    }
+
+    private static Optional<String> validatorOf(HttpHeaders headers) {
+        // If-Range requires a strong validator: weak ETags never match a range request
+        Optional<String> etag = headers.firstValue(HEADERS.ETAG).filter(e -> !e.startsWith("W/"));
+        return etag.isPresent() ? etag : headers.firstValue(HEADERS.LAST_MODIFIED);
+    }
+
+    private static OptionalLong contentRangeStart(HttpHeaders headers) {
+        Optional<String> contentRange = headers.firstValue(HEADERS.CONTENT_RANGE);
+        if (contentRange.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        Matcher matcher = CONTENT_RANGE_START.matcher(contentRange.get().trim());
+        if (!matcher.matches()) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(matcher.group(1)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private Optional<String> readValidator() {
+        if (!Files.isRegularFile(validatorFile)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(validatorFile)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(properties.getProperty(KEY_VALIDATOR)).filter(v -> !v.isBlank());
+    }
+
+    private void writeValidator(Optional<String> validator) {
+        if (validator.isEmpty()) {
+            deleteQuietly(validatorFile);
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(KEY_VALIDATOR, validator.get());
+        try (OutputStream out = Files.newOutputStream(validatorFile)) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            // Without a validator the download still works, it just cannot be resumed
+            logger.warn("Could not record download validator: " + e.getMessage());
+            deleteQuietly(validatorFile);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete partial download file " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
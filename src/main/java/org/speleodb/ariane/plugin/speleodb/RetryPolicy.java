@@ -0,0 +1,214 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HTTP_STATUS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
+
+/**
+ * Retries idempotent SpeleoDB requests that failed for a transient reason: a network
+ * error, or HTTP 429 / 502 / 503 / 504.
+ *
+ * <p>Attempts are spaced by exponential backoff with jitter, or by the server's
+ * {@code Retry-After} when it sends one (a {@code Retry-After} longer than
+ * {@link NETWORK#RETRY_AFTER_MAX_MILLIS} ends the retries instead of blocking the user).
+ * A retry budget shared by all calls of one service keeps a struggling server from being
+ * hammered: every retry spends a token, every first-attempt success earns back a fraction
+ * of one, and without a token the failure is reported at once.</p>
+ *
+ * <p>Only the blocking API is retried; the caller's thread sleeps between attempts.</p>
+ */
+final class RetryPolicy {
+
+    /**
+     * Builds the request for one attempt. Called again for every retry, so requests that
+     * depend on state (e.g. a resumable download's range) are rebuilt.
+     */
+    @FunctionalInterface
+    interface RequestFactory {
+        HttpRequest create() throws URISyntaxException;
+    }
+
+    /**
+     * Sends one attempt's request.
+     */
+    @FunctionalInterface
+    interface Transport<T> {
+        HttpResponse<T> send(HttpRequest request) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Waits between attempts; replaced in tests.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Sleeper sleeper;
+
+    // Retry budget, guarded by this
+    private double tokens = NETWORK.RETRY_BUDGET_MAX_TOKENS;
+
+    RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, Sleeper sleeper) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * The default policy; {@code -Dspeleodb.retry.max.attempts=1} disables retries.
+     */
+    static RetryPolicy fromSystemProperties() {
+        return new RetryPolicy(
+                Integer.getInteger(NETWORK.RETRY_MAX_ATTEMPTS_PROPERTY, NETWORK.RETRY_MAX_ATTEMPTS),
+                NETWORK.RETRY_INITIAL_BACKOFF_MILLIS, NETWORK.RETRY_MAX_BACKOFF_MILLIS, Thread::sleep);
+    }
+
+    /**
+     * Sends a request, retrying transient failures. Any network error is retried.
+     *
+     * @param operation short description for the log, e.g. "Project listing"
+     * @return the first non-retryable response, or the last one once attempts run out
+     */
+    <T> HttpResponse<T> send(String operation, RequestFactory requestFactory, Transport<T> transport)
+            throws IOException, InterruptedException, URISyntaxException {
+        return send(operation, requestFactory, transport, error -> true);
+    }
+
+    /**
+     * Sends a request, retrying transient statuses and the network errors accepted by
+     * {@code retryableError}. A request refused by an open circuit breaker
+     * ({@link ServerOfflineException}) is never retried.
+     */
+    <T> HttpResponse<T> send(String operation, RequestFactory requestFactory, Transport<T> transport,
+                             Predicate<IOException> retryableError)
+            throws IOException, InterruptedException, URISyntaxException {
+        for (int attempt = 1; ; attempt++) {
+            HttpRequest request = requestFactory.create();
+            HttpResponse<T> response;
+            try {
+                response = transport.send(request);
+            } catch (IOException e) {
+                if (e instanceof ServerOfflineException || attempt >= maxAttempts
+                        || !retryableError.test(e) || !tryAcquireRetry()) {
+                    throw e;
+                }
+                long delay = backoffMillis(attempt);
+                logger.info(operation + " failed (" + describe(e) + "), retry " + (attempt + 1) + "/" + maxAttempts
+                        + " in " + delay + " ms");
+                sleeper.sleep(delay);
+                continue;
+            }
+
+            if (!isRetryableStatus(response.statusCode())) {
+                if (attempt == 1) {
+                    recordSuccess();
+                }
+                return response;
+            }
+
+            Optional<Long> retryAfter = retryAfterMillis(response);
+            if (attempt >= maxAttempts
+                    || retryAfter.map(millis -> millis > NETWORK.RETRY_AFTER_MAX_MILLIS).orElse(false)
+                    || !tryAcquireRetry()) {
+                return response;
+            }
+            long delay = retryAfter.isPresent() ? retryAfter.get() : backoffMillis(attempt);
+            logger.info(operation + " got HTTP " + response.statusCode() + ", retry " + (attempt + 1) + "/" + maxAttempts
+                    + " in " + delay + " ms" + (retryAfter.isPresent() ? " (Retry-After)" : ""));
+            discard(response);
+            sleeper.sleep(delay);
+        }
+    }
+
+    /**
+     * Tokens left in the retry budget.
+     */
+    synchronized double remainingBudget() {
+        return tokens;
+    }
+
+    static boolean isRetryableStatus(int status) {
+        return status == HTTP_STATUS.TOO_MANY_REQUESTS
+                || status == HTTP_STATUS.BAD_GATEWAY
+                || status == HTTP_STATUS.SERVICE_UNAVAILABLE
+                || status == HTTP_STATUS.GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Parses {@code Retry-After} as either delta-seconds or an HTTP date.
+     */
+    static Optional<Long> retryAfterMillis(HttpResponse<?> response) {
+        Optional<String> header = response.headers().firstValue(HEADERS.RETRY_AFTER);
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+        String value = header.get().trim();
+        try {
+            return Optional.of(Math.max(0, Long.parseLong(value)) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis()));
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff for the retry following {@code attempt}, with +/- jitter so that
+     * clients failing together do not retry together.
+     */
+    private long backoffMillis(int attempt) {
+        long base = initialBackoffMillis << Math.min(attempt - 1, 20);
+        base = Math.min(base, maxBackoffMillis);
+        long spread = (long) (base * NETWORK.RETRY_JITTER_RATIO);
+        return spread > 0 ? base - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1) : base;
+    }
+
+    private synchronized boolean tryAcquireRetry() {
+        if (tokens < 1) {
+            logger.debug("Retry budget exhausted, not retrying");
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private synchronized void recordSuccess() {
+        tokens = Math.min(NETWORK.RETRY_BUDGET_MAX_TOKENS, tokens + NETWORK.RETRY_BUDGET_REFILL_PER_SUCCESS);
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private static String describe(IOException e) {
+        return e.getMessage() != null ? e.getClass().getSimpleName() + ": " + e.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,14 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+
+/**
+ * Exception indicating a request was not sent because the SpeleoDB instance is known to
+ * be unreachable (its circuit breaker is open). Fails immediately instead of waiting out
+ * the connect timeout.
+ */
+public class ServerOfflineException extends IOException {
+    public ServerOfflineException(String message) {
+        super(message);
+    }
+}
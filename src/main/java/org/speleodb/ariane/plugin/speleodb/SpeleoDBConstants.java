@@ -89,6 +89,7 @@ public final class SpeleoDBConstants {
         public static final String ANNOUNCEMENTS_ENDPOINT = BASE_PATH + "/announcements/";
         public static final String PLUGIN_RELEASES_ENDPOINT = BASE_PATH + "/plugin_releases/";
         public static final String UPLOAD_ARIANE_TML_PATH = "/upload/ariane_tml/";
+        public static final String UPLOAD_ARIANE_TML_DELTA_PATH = "/upload/ariane_tml_delta/";
         public static final String ACQUIRE_LOCK_PATH = "/acquire/";
         public static final String RELEASE_LOCK_PATH = "/release/";
         public static final String DOWNLOAD_ARIANE_TML_PATH = "/download/ariane_tml/";
@@ -99,8 +100,21 @@ public final class SpeleoDBConstants {
     public static final class HTTP_STATUS {
         public static final int OK = 200;
         public static final int CREATED = 201;
+        public static final int PARTIAL_CONTENT = 206;
         public static final int NOT_MODIFIED = 304;
+        public static final int FORBIDDEN = 403;
+        public static final int NOT_FOUND = 404;
+        public static final int METHOD_NOT_ALLOWED = 405;
+        public static final int CONFLICT = 409;
+        public static final int PRECONDITION_FAILED = 412;
+        public static final int RANGE_NOT_SATISFIABLE = 416;
         public static final int UNPROCESSABLE_ENTITY = 422;
+        public static final int LOCKED = 423;
+        public static final int TOO_MANY_REQUESTS = 429;
+        public static final int NOT_IMPLEMENTED = 501;
+        public static final int BAD_GATEWAY = 502;
+        public static final int SERVICE_UNAVAILABLE = 503;
+        public static final int GATEWAY_TIMEOUT = 504;
     }
 
     // ==================== NETWORK & CONNECTION ====================
@@ -111,6 +125,23 @@ public final class SpeleoDBConstants {
         public static final int CONNECT_TIMEOUT_SECONDS = 30;
         public static final int REQUEST_TIMEOUT_SECONDS = 60;
         public static final int DOWNLOAD_TIMEOUT_SECONDS = 120;
+        public static final int DOWNLOAD_RESUME_ATTEMPTS = 3;
+        public static final int PROJECT_LIST_PAGE_SIZE = 50;
+        public static final int WARM_UP_TIMEOUT_SECONDS = 10;
+        public static final String HTTP_WARM_UP_PROPERTY = "speleodb.http.warmup";
+        public static final String HTTP_COMPRESSION_PROPERTY = "speleodb.http.compression";
+        public static final int RETRY_MAX_ATTEMPTS = 3;
+        public static final String RETRY_MAX_ATTEMPTS_PROPERTY = "speleodb.retry.max.attempts";
+        public static final long RETRY_INITIAL_BACKOFF_MILLIS = 250;
+        public static final long RETRY_MAX_BACKOFF_MILLIS = 4000;
+        public static final double RETRY_JITTER_RATIO = 0.2;
+        public static final long RETRY_AFTER_MAX_MILLIS = 30000;
+        public static final double RETRY_BUDGET_MAX_TOKENS = 10;
+        public static final double RETRY_BUDGET_REFILL_PER_SUCCESS = 0.1;
+        public static final String UPLOAD_DELTA_PROPERTY = "speleodb.upload.delta";
+        public static final double UPLOAD_DELTA_MAX_CHANGED_RATIO = 0.5;
+        public static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 2;
+        public static final int CIRCUIT_BREAKER_PROBE_INTERVAL_SECONDS = 15;
         public static final int DEFAULT_TIMEOUT_MILLIS = 10000;
         public static final int EXECUTOR_SHUTDOWN_TIMEOUT_MILLIS = 500;
     }
@@ -118,6 +149,10 @@ public final class SpeleoDBConstants {
     // ==================== HTTP HEADERS ====================
     public static final class HEADERS {
         public static final String CONTENT_TYPE = "Content-Type";
+        public static final String ACCEPT_ENCODING = "Accept-Encoding";
+        public static final String CONTENT_ENCODING = "Content-Encoding";
+        public static final String GZIP = "gzip";
+        public static final String IDENTITY = "identity";
         public static final String AUTHORIZATION = "Authorization";
         public static final String APPLICATION_JSON = "application/json";
         public static final String APPLICATION_JSON_UTF8 = "application/json; charset=utf-8";
@@ -125,6 +160,14 @@ public final class SpeleoDBConstants {
         public static final String MULTIPART_FORM_DATA = "multipart/form-data";
         public static final String TEXT_PLAIN = "text/plain";
         public static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+        public static final String ETAG = "ETag";
+        public static final String LAST_MODIFIED = "Last-Modified";
+        public static final String IF_NONE_MATCH = "If-None-Match";
+        public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+        public static final String RANGE = "Range";
+        public static final String IF_RANGE = "If-Range";
+        public static final String CONTENT_RANGE = "Content-Range";
+        public static final String RETRY_AFTER = "Retry-After";
     }
 
     // ==================== MULTIPART CONSTANTS ====================
@@ -167,9 +210,18 @@ public final class SpeleoDBConstants {
         public static final String ARIANE_SDB_DIR = ARIANE_ROOT_DIR + System.getProperty("file.separator") + "speleodb";
         public static final String ARIANE_PLUGINS_DIR = ARIANE_ROOT_DIR + System.getProperty("file.separator") + "Plugins";
         public static final String SDB_PROJECT_DIR = ARIANE_SDB_DIR + System.getProperty("file.separator") + "projects";
+        public static final String UPLOAD_OUTBOX_DIR = ARIANE_SDB_DIR + System.getProperty("file.separator") + "outbox";
         public static final String COUNTRIES_RESOURCE = "countries.json";
         public static final String DEBUG_PROPERTIES = "/debug.properties";
         public static final String TML_FILE_EXTENSION = ".tml";
+        public static final String DOWNLOAD_TEMP_FILE_EXTENSION = ".tml.part";
+        public static final String DOWNLOAD_RESUME_FILE_EXTENSION = ".tml.part.resume";
+        public static final String UPLOAD_STAGING_FILE_EXTENSION = ".tml.staging";
+        public static final String PROJECT_CACHE_ENTRY_EXTENSION = ".tml.cache";
+        public static final String PROJECT_MANIFEST_EXTENSION = ".tml.manifest";
+        public static final String UPLOAD_DELTA_FILE_EXTENSION = ".tml.delta";
+        public static final String PROJECT_LISTING_FILE_SUFFIX = ".listing.json";
+        public static final String UPLOAD_OUTBOX_ENTRY_EXTENSION = ".outbox";
         public static final String JAR_FILE_EXTENSION = ".jar";
         public static final String SPELEODB_FXML = "/fxml/SpeleoDB.fxml";
         public static final String LOGO_IMAGE = "/images/logo.png";
@@ -193,6 +245,14 @@ public final class SpeleoDBConstants {
         public static final long LOG_FILE_MAX_SIZE_BYTES = LOG_FILE_MAX_SIZE_MB * 1024 * 1024;
         public static final int LOG_FILE_MAX_BACKUP_COUNT = 5;
         public static final String LOG_FORMAT = "[%s] %s - %s%n";
+        // Asynchronous file backend (disable with -Dspeleodb.log.async=false)
+        public static final String LOG_ASYNC_PROPERTY = "speleodb.log.async";
+        public static final int LOG_BUFFER_CAPACITY = 8192;
+        public static final String LOG_WRITER_THREAD_NAME = "SpeleoDB-LogWriter";
+        public static final long LOG_WRITER_SHUTDOWN_TIMEOUT_MILLIS = 2000;
+        // UI console line cap (override with -Dspeleodb.ui.log.max.lines=...)
+        public static final int UI_LOG_MAX_LINES = 2000;
+        public static final String UI_LOG_MAX_LINES_PROPERTY = "speleodb.ui.log.max.lines";
         public static final String LOG_STARTUP_MESSAGE = "SpeleoDB Plugin logging initialized - Log file: ";
         public static final String LOG_SHUTDOWN_MESSAGE = "SpeleoDB Plugin logging shutdown";
         public static final String LOG_FILE_ROTATION_MESSAGE = "Log file rotated due to size limit";
@@ -270,6 +330,7 @@ public final class SpeleoDBConstants {
         public static final String ERROR_BUILDING_MULTIPART_BODY = "Error building HTTP request multipart body";
         public static final String ERROR_WRITING_MULTIPART_PART = "Error writing multipart part: ";
         public static final String ERROR_COPYING_FILE_CONTENT = "Error copying file content: ";
+        public static final String ERROR_MULTIPART_BODY_NOT_BUFFERED = "Streaming multipart body has no in-memory copy; use getBodyPublisher()";
 
         // Informational Messages
         public static final String INFO_UPLOAD_IN_PROGRESS = "Uploading project… This may take ~10–15 seconds. Please wait.";
@@ -318,6 +379,7 @@ public final class SpeleoDBConstants {
         public static final String PROMPT_LONGITUDE = "[Optional]";
         public static final String PROMPT_UPLOAD_MESSAGE = "What did you modify and with whom ?";
         public static final String PROMPT_LOAD_FROM_DISK_MESSAGE = "Describe your changes - who was involved ?";
+        public static final String PROMPT_PROJECT_SEARCH = "Search by name, permission or lock owner ...";
     }
 
     // ==================== UI STYLING ====================
@@ -466,17 +528,32 @@ public final class SpeleoDBConstants {
         public static final int REDRAW_DELAY_MILLIS_2 = 1500;
         public static final int CENTER_VIEW_DELAY_MILLIS = 1000;
 
-        // File stability detection with exponential backoff (for waiting on async file writes).
-        // Poll sequence: 50, 100, 200, 400, 800, 1000, 1000… ms (doubles until capped).
+        // File readiness detection (for waiting on async file writes). A file is validated once
+        // it has been quiet for FILE_STABILITY_QUIET_MILLIS; watch-service waits are sliced to the
+        // max backoff, and without a watch service polling backs off 50, 100, 200… 1000 ms.
         public static final int FILE_STABILITY_INITIAL_BACKOFF_MILLIS = 50;
         public static final int FILE_STABILITY_MAX_BACKOFF_MILLIS = 1000;
+        public static final int FILE_STABILITY_QUIET_MILLIS = 150;
         public static final int FILE_STABILITY_TIMEOUT_MILLIS = 10000;
+
+        // Survey load completion timeout; override with -Dspeleodb.survey.load.timeout.millis=...
+        public static final long SURVEY_LOAD_TIMEOUT_MILLIS = 60_000;
+        public static final String SURVEY_LOAD_TIMEOUT_PROPERTY = "speleodb.survey.load.timeout.millis";
+
+        // Project lock heartbeat: refresh every minute (+/- 10%); failed refreshes back off
+        // 5 s, 10 s, 20 s… capped at the regular interval so the lock never goes unrefreshed long.
+        public static final long LOCK_HEARTBEAT_INTERVAL_MILLIS = 60_000;
+        public static final long LOCK_HEARTBEAT_RETRY_INITIAL_MILLIS = 5_000;
+        public static final long LOCK_HEARTBEAT_RETRY_MAX_MILLIS = 60_000;
+        public static final double LOCK_HEARTBEAT_JITTER_RATIO = 0.1;
     }
 
     // ==================== DEBUG & SYSTEM PROPERTIES ====================
     public static final class DEBUG {
         public static final String COUNTRIES_LOADER_THREAD_NAME = "CountriesLoader";
         public static final String SPELEODB_WORKER_THREAD_NAME = "SpeleoDB-Worker";
+        public static final String LOCK_HEARTBEAT_THREAD_NAME = "SpeleoDB-LockHeartbeat";
+        public static final String CONNECTIVITY_PROBE_THREAD_NAME = "SpeleoDB-ConnectivityProbe";
         // Toggle for verbose JavaFX event logging across scenes (disabled by default)
         public static final boolean ENABLE_FX_EVENT_LOGGER = false;
     }
@@ -497,6 +574,7 @@ public final class SpeleoDBConstants {
         public static final String LATITUDE = "latitude";
         public static final String LONGITUDE = "longitude";
         public static final String MESSAGE = "message";
+        public static final String MODIFIED_DATE = "modified_date";
         public static final String NAME = "name";
         public static final String NON_FIELD_ERRORS = "non_field_errors";
         public static final String PASSWORD = "password";
@@ -516,6 +594,11 @@ public final class SpeleoDBConstants {
         public static final String OPERATING_SYSTEM = "operating_system";
         public static final String PLUGIN_VERSION = "plugin_version";
         public static final String SHA256_HASH = "sha256_hash";
+        // Delta upload parts
+        public static final String BASE_SHA256 = "base_sha256";
+        public static final String MANIFEST = "manifest";
+        public static final String REMOVED_ENTRIES = "removed_entries";
+        public static final String SHA256 = "sha256";
     }
 
     // ==================== UI ICONS & SYMBOLS ====================
@@ -14,15 +14,19 @@ import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.prefs.Preferences;
 
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
@@ -32,6 +36,7 @@ import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.BUTTON_TYPES;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.DIALOGS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.DIMENSIONS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.JSON_FIELDS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PREFERENCES;
@@ -51,12 +56,14 @@ import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
-import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Control;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.DialogPane;
@@ -76,8 +83,6 @@ import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
@@ -124,6 +129,8 @@ public class SpeleoDBController implements Initializable {
         // Clear the controller state for tests
         instance.currentProject = null;
         instance.cachedProjectList = null;
+        instance.cachedProjects = null;
+        instance.stopLockHeartbeat();
         if (instance.speleoDBService != null) {
             instance.speleoDBService.logout();
         }
@@ -146,7 +153,9 @@ public class SpeleoDBController implements Initializable {
     @FXML
     private Button uploadButton;
     @FXML
-    private ListView<Button> projectListView;
+    private ListView<ProjectSummary> projectListView;
+    @FXML
+    private TextField projectSearchField;
     @FXML
     private Button createNewProjectButton;
     @FXML
@@ -198,12 +207,39 @@ public class SpeleoDBController implements Initializable {
     // Internal Controller Data
     private volatile JsonObject currentProject = null;
 
+    // The SpeleoDB instance cannot be reached; requests fail fast until it can
+    private volatile boolean offlineMode = false;
+
+    // Projects pane shows the saved listing without a login, because the instance was unreachable at connect time
+    private volatile boolean offlineSession = false;
+
+    // Uploads made while the instance was unreachable, replayed once it answers again
+    private final UploadOutbox uploadOutbox = new UploadOutbox(Paths.get(PATHS.UPLOAD_OUTBOX_DIR));
+
+    // Keeps the lock on currentProject alive in the background; created on first use
+    private ProjectLockHeartbeat lockHeartbeat;
+
     // Sorting state
     private SortMode currentSortMode = SortMode.BY_NAME; // Default to sort by name
 
     // Store the original project data for sorting without API calls
     private JsonArray cachedProjectList = null;
 
+    // cachedProjectList parsed once per listing; sorting and rendering reuse it
+    private List<ProjectSummary> cachedProjects = null;
+
+    // Sorted rows of the project list; projectListView shows them through the search filter
+    private final ObservableList<ProjectSummary> projectItems = FXCollections.observableArrayList();
+    private final FilteredList<ProjectSummary> filteredProjectItems = new FilteredList<>(projectItems);
+
+    // Search index over the displayed listing (FX thread only)
+    private ProjectSearchIndex projectSearchIndex;
+
+    // Lengths of the lines currently in pluginUILogArea, oldest first (FX thread only)
+    private final ArrayDeque<Integer> uiLogLineLengths = new ArrayDeque<>();
+    private final int uiLogMaxLines = Math.max(1,
+            Integer.getInteger(LOGGING.UI_LOG_MAX_LINES_PROPERTY, LOGGING.UI_LOG_MAX_LINES));
+
     // Track running animations to stop them during cleanup
     private final List<Timeline> runningAnimations = new ArrayList<>();
 
@@ -350,11 +386,48 @@ public class SpeleoDBController implements Initializable {
     /**
      * Appends a message directly to the UI log area.
      * This method should only be called from the JavaFX Application Thread.
-     * Used by the centralized logging system in SpeleoDBPlugin.
+     * Used by the centralized logging system in SpeleoDBPlugin, which passes a whole
+     * batch of lines at once. The console keeps only the newest
+     * {@link LOGGING#UI_LOG_MAX_LINES} lines so long sessions stay responsive.
      */
     public void appendToUILog(String message) {
-        if (pluginUILogArea != null) {
-            pluginUILogArea.appendText(message);
+        if (pluginUILogArea == null) {
+            return;
+        }
+        int lengthBefore = pluginUILogArea.getLength();
+        pluginUILogArea.appendText(message);
+        int appended = pluginUILogArea.getLength() - lengthBefore;
+
+        // Ring of line lengths: oldest lines are cut from the front once over the cap. The
+        // TextArea drops control characters such as the '\r' of Windows line separators, so
+        // only the characters it keeps are counted
+        int lineLength = 0;
+        int counted = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '\n') {
+                uiLogLineLengths.addLast(lineLength + 1);
+                counted += lineLength + 1;
+                lineLength = 0;
+            } else if (c == '\t' || (c >= 0x20 && c != 0x7F)) {
+                lineLength++;
+            }
+        }
+        if (lineLength > 0) {
+            uiLogLineLengths.addLast(lineLength);
+            counted += lineLength;
+        }
+        if (counted != appended && !uiLogLineLengths.isEmpty()) {
+            // Keep the bookkeeping in step with what the TextArea actually stored
+            uiLogLineLengths.addLast(Math.max(0, uiLogLineLengths.removeLast() + appended - counted));
+        }
+
+        int excessChars = 0;
+        while (uiLogLineLengths.size() > uiLogMaxLines) {
+            excessChars += uiLogLineLengths.removeFirst();
+        }
+        if (excessChars > 0) {
+            pluginUILogArea.deleteText(0, Math.min(excessChars, pluginUILogArea.getLength()));
         }
     }
 
@@ -454,6 +527,7 @@ public class SpeleoDBController implements Initializable {
      */
     private boolean isServerOfflineError(Exception exception) {
         if (exception == null) return false;
+        if (exception instanceof ServerOfflineException) return true;
 
         String message = exception.getMessage();
         if (message == null) message = "";
@@ -740,6 +814,16 @@ public class SpeleoDBController implements Initializable {
 
         setupLockedStatusMessage();
 
+        // ====================== PROJECTS LISTING PANE ====================== //
+
+        // Cells are recycled while scrolling: only visible rows own card nodes
+        projectListView.setCellFactory(listView -> new ProjectListCell(listView, this::handleProjectCardClickAction));
+        projectListView.setItems(filteredProjectItems);
+
+        // Filter on every keystroke from the in-memory index, without re-listing
+        projectSearchField.setPromptText(DIALOGS.PROMPT_PROJECT_SEARCH);
+        projectSearchField.textProperty().addListener((observable, oldValue, newValue) -> applyProjectFilter());
+
         // ====================== LOG PANE ====================== //
 
         // Configure TextArea without scrollbars using CSS
@@ -919,6 +1003,9 @@ public class SpeleoDBController implements Initializable {
 
         logger.info("JVM shutdown hook executing - starting cleanup...");
 
+        // No more refreshes: the lock is about to be released (or abandoned)
+        shutdownLockHeartbeat();
+
         try {
             // Release project lock if active
             if (hasActiveProjectLock()) {
@@ -953,6 +1040,7 @@ public class SpeleoDBController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         speleoDBService = new SpeleoDBService(this);
+        speleoDBService.setConnectivityListener(this::handleConnectivityChange);
 
         // Connect this controller to the centralized logger for UI console integration
         logger.setUIController(this);
@@ -971,6 +1059,9 @@ public class SpeleoDBController implements Initializable {
             setupShutdownHook();
             loadPreferences();
 
+            // Open the connection to the saved instance while the user is still reading the UI
+            speleoDBService.preconnect(instanceTextField.getText());
+
             // Initialize sorting button styles (default to sort by name)
             updateSortButtonStyles();
 
@@ -1213,32 +1304,26 @@ public class SpeleoDBController implements Initializable {
             try {
                 if (speleoDBService == null) {
                     speleoDBService = new SpeleoDBService(this);
+                    speleoDBService.setConnectivityListener(this::handleConnectivityChange);
                 }
                 speleoDBService.authenticate(email, password, oauthToken, targetInstance);
+                offlineSession = false;
                 logger.info("Connected successfully.");
 
                 // Always save preferences on successful connection
                 savePreferences();
 
-                Platform.runLater(() -> {
-                    projectsListingPane.setVisible(true);
-                    projectsListingPane.setExpanded(true);
-                    aboutSpeleoDBPane.setExpanded(false);
-                    createNewProjectButton.setDisable(false);
-                    refreshProjectsButton.setDisable(false);
-
-                    // Update UI state for connected mode
-                    connectionButton.setText("DISCONNECT");
-                    javafx.scene.layout.GridPane.setColumnSpan(connectionButton, 3);
-                    signupButton.setVisible(false);
-
-                    // Disable connection form fields while connected
-                    setConnectionFormEnabled(false);
-                });
+                Platform.runLater(() -> showProjectsPane(true));
 
                 listProjects();
+                syncUploadOutbox();
 
             } catch (Exception e) {
+                // Unreachable instance: work offline on the saved listing instead of failing
+                if (isServerOfflineError(e) && enterOfflineSession(targetInstance)) {
+                    return;
+                }
+
                 String errorMessage = getNetworkErrorMessage(e, "Connection");
                 logger.error("Connection failed: " + getSafeErrorMessage(e));
 
@@ -1262,6 +1347,160 @@ public class SpeleoDBController implements Initializable {
     }
 
 
+    /**
+     * Shows the projects pane and switches the connection form to its connected state.
+     *
+     * @param online false when showing the saved listing of an unreachable instance
+     */
+    private void showProjectsPane(boolean online) {
+        projectsListingPane.setVisible(true);
+        projectsListingPane.setExpanded(true);
+        aboutSpeleoDBPane.setExpanded(false);
+        createNewProjectButton.setDisable(!online);
+        refreshProjectsButton.setDisable(false);
+
+        // Update UI state for connected mode
+        connectionButton.setText("DISCONNECT");
+        javafx.scene.layout.GridPane.setColumnSpan(connectionButton, 3);
+        signupButton.setVisible(false);
+
+        // Disable connection form fields while connected
+        setConnectionFormEnabled(false);
+    }
+
+    /**
+     * Starts an offline session on the listing saved from {@code instanceUrl}, so projects
+     * can still be browsed and their local copies opened. The service probes the instance
+     * in the background and {@link #handleConnectivityChange} signs in once it answers.
+     *
+     * @return false if no listing was ever saved for this instance
+     */
+    private boolean enterOfflineSession(String instanceUrl) {
+        Optional<JsonArray> savedListing = speleoDBService.loadSavedProjectListing(instanceUrl);
+        if (savedListing.isEmpty()) {
+            return false;
+        }
+
+        offlineSession = true;
+        speleoDBService.goOffline(instanceUrl);
+        logger.warn("Can't reach " + instanceUrl + ": working offline with " + savedListing.get().size()
+                + " saved projects. Reconnecting automatically once it is reachable.");
+
+        cachedProjects = List.copyOf(ProjectSummary.fromListing(savedListing.get()));
+        cachedProjectList = savedListing.get();
+        Platform.runLater(() -> {
+            showProjectsPane(false);
+            showErrorAnimation("Working offline");
+        });
+        updateProjectListFromCache(new ProjectSearchIndex(cachedProjects));
+        return true;
+    }
+
+    /**
+     * Whether project actions should work from local data: the instance is unreachable,
+     * or the projects pane shows a saved listing.
+     */
+    private boolean isWorkingOffline() {
+        return offlineMode || offlineSession;
+    }
+
+    /**
+     * Whether the projects pane is in use, online or on a saved listing.
+     */
+    private boolean hasProjectSession() {
+        return speleoDBService != null && (speleoDBService.isAuthenticated() || offlineSession);
+    }
+
+    /**
+     * Called by the service when the SpeleoDB instance becomes unreachable or reachable
+     * again. Going offline keeps the displayed listing; coming back signs in (offline
+     * session) or refreshes the listing.
+     */
+    private void handleConnectivityChange(boolean reachable) {
+        if (!reachable) {
+            offlineMode = true;
+            Platform.runLater(() -> showErrorAnimation("Working offline"));
+            return;
+        }
+
+        offlineMode = false;
+        if (offlineSession) {
+            logger.info("SpeleoDB is reachable again, signing in");
+            Platform.runLater(() -> connectToSpeleoDB(true));
+        } else if (speleoDBService.isAuthenticated()) {
+            logger.info("SpeleoDB is reachable again, refreshing projects");
+            listProjects();
+            syncUploadOutbox();
+        }
+    }
+
+    /**
+     * The instance the projects pane belongs to, also while working offline without a login.
+     */
+    private String currentInstanceUrl() {
+        if (speleoDBService != null && speleoDBService.isAuthenticated()) {
+            return speleoDBService.getSDBInstance();
+        }
+        String instanceUrl = instanceTextField.getText();
+        return SpeleoDBService.resolveInstanceUrl(
+                instanceUrl == null || instanceUrl.isBlank() ? PREFERENCES.DEFAULT_INSTANCE : instanceUrl);
+    }
+
+    /**
+     * Keeps an upload that could not reach SpeleoDB in the outbox, to be sent by
+     * {@link #syncUploadOutbox} once the instance answers again.
+     *
+     * @return false if the snapshot could not be written
+     */
+    private boolean queueOfflineUpload(String commitMessage, JsonObject project, PreparedUpload prepared) {
+        try {
+            uploadOutbox.enqueue(currentInstanceUrl(), project, commitMessage, prepared);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not queue upload for later: " + e.getMessage());
+            return false;
+        }
+        logger.info("SpeleoDB unreachable: saved " + project.getString(JSON_FIELDS.NAME, "project")
+                + " locally, it will be uploaded once SpeleoDB is reachable");
+        Platform.runLater(() -> {
+            uploadMessageTextField.clear();
+            showSuccessAnimation("Saved offline, uploads when online");
+            setUILoadingState(false);
+        });
+        return true;
+    }
+
+    /**
+     * Replays the queued offline uploads of the current instance in the background, in the
+     * order they were made. Each one takes the project's lock for the upload and gives it
+     * back afterwards unless it is the project locked in Ariane.
+     */
+    private void syncUploadOutbox() {
+        parentPlugin.executorService.execute(() -> {
+            if (speleoDBService == null || !speleoDBService.isAuthenticated()) {
+                return;
+            }
+            int uploaded = uploadOutbox.drain(speleoDBService.getSDBInstance(), entry -> {
+                JsonObject project = entry.project();
+                JsonObject lockedProject = currentProject;
+                boolean keepLock = lockedProject != null
+                        && entry.projectId().equals(lockedProject.getString(JSON_FIELDS.ID));
+                if (!speleoDBService.acquireOrRefreshProjectMutex(project)) {
+                    throw new IllegalStateException(entry.projectName() + " is locked by another user");
+                }
+                try {
+                    speleoDBService.uploadProject(entry.message(), project, entry.toPreparedUpload());
+                } finally {
+                    if (!keepLock) {
+                        speleoDBService.releaseProjectMutex(project);
+                    }
+                }
+            });
+            if (uploaded > 0) {
+                Platform.runLater(() -> showSuccessAnimation("Uploaded " + uploaded + " offline save(s)"));
+            }
+        });
+    }
+
     /**
      * Disconnects from SpeleoDB and updates the UI state.
      * Releases any active project lock before logout, then clears the current project,
@@ -1287,10 +1526,17 @@ public class SpeleoDBController implements Initializable {
         }
 
         currentProject = null;
+        offlineSession = false;
+        stopLockHeartbeat();
 
         // Clear cached project list and UI
         cachedProjectList = null;
-        projectListView.getItems().clear();
+        cachedProjects = null;
+        projectItems.clear();
+        projectSearchIndex = null;
+        if (projectSearchField != null) {
+            projectSearchField.clear();
+        }
 
         // Update UI state for disconnected mode
         connectionButton.setText("CONNECT");
@@ -1379,7 +1625,7 @@ public class SpeleoDBController implements Initializable {
             }
 
             // Connection controls (only if not authenticated)
-            if (speleoDBService == null || !speleoDBService.isAuthenticated()) {
+            if (!hasProjectSession()) {
                 setConnectionFormEnabled(!loading);
             }
 
@@ -1397,6 +1643,8 @@ public class SpeleoDBController implements Initializable {
         String projectId = currentProject.getString("id");
         java.nio.file.Path target = java.nio.file.Paths.get(
                 PATHS.SDB_PROJECT_DIR + java.io.File.separator + projectId + SpeleoDBConstants.PATHS.TML_FILE_EXTENSION);
+        // Reject damaged archives before they replace the local copy (throws ZipException)
+        TmlVerifier.getInstance().verify(selectedFile.toPath());
         java.nio.file.Files.createDirectories(target.getParent());
         java.nio.file.Files.copy(selectedFile.toPath(), target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
 
@@ -1481,7 +1729,7 @@ public class SpeleoDBController implements Initializable {
      */
     @FXML
     public void onHandleAuthentication(ActionEvent actionEvent) throws URISyntaxException, IOException, InterruptedException {
-        if (speleoDBService.isAuthenticated()) {
+        if (hasProjectSession()) {
             disconnectFromSpeleoDB();
         } else {
             connectToSpeleoDB(false);
@@ -1499,139 +1747,170 @@ public class SpeleoDBController implements Initializable {
     // -------------------------- Project Listing -------------------------- //
 
     /**
-     * Creates a Button to represent a SpeleoDB project with specific actions.
+     * Handles the response from the project listing request and updates the UI.
      *
-     * @param card        A VBox containing project details for display.
-     * @param projectItem A JsonObject representing the project metadata.
-     * @return A Button configured with the given card and actions.
+     * @param projectList A JsonArray containing the list of projects.
      */
-    private Button createProjectButton(VBox card, JsonObject projectItem) {
-        // Initialize the button and set its graphic to the provided card.
-        Button button = new Button();
-        button.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
-        button.setGraphic(card);
+    private void handleProjectListResponse(JsonArray projectList) {
+        logger.info("Project listing successful on " + speleoDBService.getSDBInstance());
 
-        // Make the button scale with the ListView width
-        button.setMaxWidth(Double.MAX_VALUE);
-        button.prefWidthProperty().bind(projectListView.widthProperty().subtract(20)); // 20px for scrollbar/padding
+        // A 304 from the server hands back the very same array; nothing to re-render
+        if (projectList == cachedProjectList) {
+            logger.debug("Project list unchanged, skipping rebuild");
+            return;
+        }
 
-        // Define the action handler for button clicks.
-        button.setOnAction(event -> handleProjectCardClickAction(event, projectItem));
+        // Cache the project data for sorting without API calls; parse it here, off the FX thread
+        cachedProjects = List.copyOf(ProjectSummary.fromListing(projectList));
+        cachedProjectList = projectList;
 
-        // Store project metadata as user data for later retrieval.
-        button.setUserData(projectItem);
-        return button;
+        // Only apply what changed since the previous listing
+        updateProjectListFromCache(new ProjectSearchIndex(cachedProjects));
     }
 
     /**
-     * Creates a UI card for a project.
+     * Merges one page of a first listing into the displayed list, in sort order, so the
+     * first projects appear before the whole listing has been received. The complete
+     * listing then arrives through {@link #handleProjectListResponse}, which finds these
+     * rows already in place.
      *
-     * @param projectItem A JsonObject containing project metadata.
-     * @return A VBox representing the project card.
+     * @param page consecutive projects of the listing being streamed
      */
-    private VBox createProjectCard(JsonObject projectItem) {
-        VBox card = new VBox();
-
-        /* Setting the name of the project */
-        String name = projectItem.getString("name");
-        Text nameText = new Text(name);
-        nameText.setFont(Font.font(Font.getDefault().getName(), FontWeight.BOLD, Font.getDefault().getSize()));
-        card.getChildren().add(nameText);
-        card.getChildren().add(new Text(projectItem.getString("permission")));
-
-        /* Setting the mutex state of the project */
-        JsonValue mutex = projectItem.get("active_mutex");
-        if (mutex.getValueType() == JsonValue.ValueType.NULL) {
-            card.getChildren().add(new Text("Not Locked"));
-        } else {
-            JsonObject mutexObj = mutex.asJsonObject();
-            card.getChildren().add(new Text("Locked"));
-            card.getChildren().add(new Text("by " + mutexObj.getString("user")));
-
-            String creationDate = mutexObj.getString("creation_date");
-            LocalDateTime creationDateTime = LocalDateTime.parse(creationDate.substring(0, creationDate.lastIndexOf('.')));
-            card.getChildren().add(new Text("on " + creationDateTime.format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM))));
-
-            String modifiedDate = mutexObj.getString("modified_date");
-            LocalDateTime modifiedDateTime = LocalDateTime.parse(modifiedDate.substring(0, modifiedDate.lastIndexOf('.')));
-            card.getChildren().add(new Text("(mod) " + modifiedDateTime.format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM))));
+    private void handleProjectListPage(List<JsonObject> page) {
+        List<ProjectSummary> summaries = new ArrayList<>(page.size());
+        for (JsonObject project : page) {
+            summaries.add(ProjectSummary.of(project));
         }
 
-        card.setMaxWidth(Double.MAX_VALUE);
-        return card;
+        Platform.runLater(() -> {
+            if (!speleoDBService.isAuthenticated()) {
+                return;
+            }
+            List<ProjectSummary> merged = new ArrayList<>(projectItems);
+            merged.addAll(summaries);
+            merged.sort(ProjectSummary.comparator(currentSortMode));
+            projectItems.setAll(merged);
+        });
     }
 
     /**
-     * Handles the response from the project listing request and updates the UI.
-     *
-     * @param projectList A JsonArray containing the list of projects.
+     * Shared method to rebuild the project list from cached data.
+     * Used by sort operations, which reorder every row at once.
      */
-    private void handleProjectListResponse(JsonArray projectList) {
-        logger.info("Project listing successful on " + speleoDBService.getSDBInstance());
+    private void rebuildProjectListFromCache() {
+        List<ProjectSummary> cached = cachedProjects;
+        if (cached == null) {
+            logger.info("No cached project data available");
+            return;
+        }
 
-        // Cache the project data for sorting without API calls
-        cachedProjectList = projectList;
+        Platform.runLater(() -> {
+            List<ProjectSummary> projects = sortedProjects(cached);
 
-        // Use the shared method to rebuild the project list
-        rebuildProjectListFromCache();
+            // Only the data is replaced; ProjectListCell renders the visible rows
+            projectItems.setAll(projects);
+
+            // Update button styles to reflect current sort mode
+            updateSortButtonStyles();
+
+            logger.debug("Project list rebuilt with " + projects.size() + " projects");
+        });
     }
 
     /**
-     * Shared method to rebuild the project list from cached data.
-     * Used by both refresh and sort operations to ensure consistent behavior.
+     * Brings the displayed project list in line with the cached listing by inserting,
+     * removing and replacing only the rows that changed. Scroll position and selection are
+     * kept, and an unchanged listing costs no UI work at all.
+     *
+     * @param searchIndex the search index over the cached listing, replacing the current one
      */
-    private void rebuildProjectListFromCache() {
-        if (cachedProjectList == null) {
+    private void updateProjectListFromCache(ProjectSearchIndex searchIndex) {
+        List<ProjectSummary> cached = cachedProjects;
+        if (cached == null) {
             logger.info("No cached project data available");
             return;
         }
 
         Platform.runLater(() -> {
-            // Clean up property bindings to prevent memory leaks
-            for (Button button : projectListView.getItems()) {
-                button.prefWidthProperty().unbind();
+            List<ProjectSummary> projects = sortedProjects(cached);
+            List<ProjectSummary> items = projectItems;
+
+            projectSearchIndex = searchIndex;
+            if (items.isEmpty()) {
+                items.setAll(projects);
+                applyProjectFilter();
+                updateSortButtonStyles();
+                logger.debug("Project list built with " + projects.size() + " projects");
+                return;
             }
-            projectListView.getItems().clear();
 
-            // Convert JsonArray to List for sorting
-            List<JsonObject> projects = new ArrayList<>();
-            for (JsonValue jsonValue : cachedProjectList) {
-                projects.add(jsonValue.asJsonObject());
+            ProjectSummary selected = projectListView.getSelectionModel().getSelectedItem();
+            int operations = ProjectListDiff.apply(items, projects, ProjectSummary::id);
+            applyProjectFilter();
+
+            // A replaced row drops out of the selection; select its new version again
+            if (selected != null && projectListView.getSelectionModel().getSelectedItem() == null) {
+                List<ProjectSummary> visible = projectListView.getItems();
+                for (int i = 0; i < visible.size(); i++) {
+                    if (selected.id().equals(visible.get(i).id())) {
+                        projectListView.getSelectionModel().select(i);
+                        break;
+                    }
+                }
             }
 
-            // Sort projects based on current sort mode
-            if (currentSortMode == SortMode.BY_NAME) {
-                projects.sort(Comparator.comparing(project ->
-                    project.getString("name", "").toLowerCase()));
-                logger.debug("Projects sorted by name (A-Z)");
-            } else { // BY_DATE
-                projects.sort(Comparator.comparing((JsonObject project) ->
-                    project.getString("modified_date", "")).reversed()); // Most recent first
-                logger.debug("Projects sorted by modified_date (newest first)");
-            }
+            logger.debug("Project list updated with " + operations + " row changes (" + projects.size() + " projects)");
+        });
+    }
 
-            // Create UI elements for sorted projects
-            for (JsonObject projectItem : projects) {
-                VBox card = createProjectCard(projectItem);
-                Button button = createProjectButton(card, projectItem);
-                projectListView.getItems().add(button);
-            }
+    /**
+     * Narrows the project list to the projects matching the search field, using the search
+     * index of the current listing. Rows are only hidden or shown; no cell is rebuilt.
+     */
+    private void applyProjectFilter() {
+        String query = projectSearchField != null ? projectSearchField.getText() : null;
+        filteredProjectItems.setPredicate(projectSearchIndex != null ? projectSearchIndex.filter(query) : null);
+    }
 
-            // Update button styles to reflect current sort mode
-            updateSortButtonStyles();
+    /**
+     * Returns the given listing ordered by the current sort mode.
+     */
+    private List<ProjectSummary> sortedProjects(List<ProjectSummary> cached) {
+        List<ProjectSummary> projects = new ArrayList<>(cached);
 
-            logger.debug("Project list rebuilt with " + projects.size() + " projects");
-        });
+        // Sort keys are precomputed by ProjectSummary, so this is a plain field comparison
+        projects.sort(ProjectSummary.comparator(currentSortMode));
+        if (currentSortMode == SortMode.BY_NAME) {
+            logger.debug("Projects sorted by name (A-Z)");
+        } else { // BY_DATE
+            logger.debug("Projects sorted by modified_date (newest first)");
+        }
+        return projects;
     }
 
     private void listProjects(Boolean resetUILoadingState) {
         logger.info("Listing Projects on " + speleoDBService.getSDBInstance());
 
+        // Show projects page by page only while nothing is displayed yet; refreshes are diffed at the end
+        boolean showPages = cachedProjects == null;
+        if (showPages) {
+            // Drop rows streamed by an earlier listing that failed, so its pages are not shown twice.
+            // Queued ahead of this listing's pages, which are appended through runLater as well
+            Platform.runLater(projectItems::clear);
+        }
+
         parentPlugin.executorService.execute(() -> {
             try {
-                JsonArray projectList = speleoDBService.listProjects();
+                JsonArray projectList = speleoDBService.listProjects(showPages ? this::handleProjectListPage : null);
                 handleProjectListResponse(projectList);
             } catch (Exception e) {
+                if (offlineMode) {
+                    // The breaker opened: keep the listing on screen rather than interrupting with a modal
+                    logger.warn("Can't reach SpeleoDB, showing the last known project list");
+                    Platform.runLater(() -> showErrorAnimation("Working offline"));
+                    return;
+                }
+
                 String errorMessage = getNetworkErrorMessage(e, "Project listing");
                 logger.error("Failed to list projects: " + getSafeErrorMessage(e));
 
@@ -1664,6 +1943,12 @@ public class SpeleoDBController implements Initializable {
      */
     @FXML
     public void onRefreshProjects(ActionEvent actionEvent) {
+        if (isWorkingOffline()) {
+            logger.info("Working offline: the project list refreshes once SpeleoDB is reachable");
+            showErrorAnimation("Working offline");
+            return;
+        }
+
         if (!speleoDBService.isAuthenticated()) {
             logger.info("Cannot refresh projects: Not authenticated");
             return;
@@ -1684,7 +1969,7 @@ public class SpeleoDBController implements Initializable {
      */
     @FXML
     public void onSortByName(ActionEvent actionEvent) {
-        if (!speleoDBService.isAuthenticated()) {
+        if (!hasProjectSession()) {
             logger.info("Cannot sort projects: Not authenticated");
             return;
         }
@@ -1700,7 +1985,7 @@ public class SpeleoDBController implements Initializable {
      */
     @FXML
     public void onSortByDate(ActionEvent actionEvent) {
-        if (!speleoDBService.isAuthenticated()) {
+        if (!hasProjectSession()) {
             logger.info("Cannot sort projects: Not authenticated");
             return;
         }
@@ -1821,9 +2106,8 @@ public class SpeleoDBController implements Initializable {
 
     // -------------------------- Project Opening -------------------------- //
 
-    private void clickSpeleoDBProject(ActionEvent e) throws URISyntaxException, IOException, InterruptedException {
+    private void clickSpeleoDBProject(JsonObject project) throws URISyntaxException, IOException, InterruptedException {
         parentPlugin.executorService.execute(() -> {
-            var project = (JsonObject) ((Button) e.getSource()).getUserData();
             String projectName = project.getString("name");
             String permissionString = project.getString("permission", "READ_ONLY");
 
@@ -1837,8 +2121,14 @@ public class SpeleoDBController implements Initializable {
 
             Boolean hasWriteAccess = false;
 
-            // Check if this is a project that can be locked (ADMIN or READ_AND_WRITE)
-            if (canAcquireLock(permission)) {
+            if (isWorkingOffline()) {
+                // No lock can be taken offline; a lock already held on this project is kept
+                hasWriteAccess = hasActiveProjectLock()
+                        && currentProject.getString("id").equals(project.getString("id"));
+                logger.info("Working offline: opening the local copy of " + projectName
+                        + (hasWriteAccess ? " (lock held)" : " (read-only)"));
+                Platform.runLater(() -> showSuccessAnimation("Opening offline copy"));
+            } else if (canAcquireLock(permission)) {
                 // Attempt to acquire lock first for writable projects
                 logger.debug("Attempting to acquire lock for project: " + projectName);
                 Boolean lockResult = acquireProjectLockWithUI(project, "project opening", true);
@@ -2024,63 +2314,50 @@ public class SpeleoDBController implements Initializable {
 
     /**
      * Loads a survey file asynchronously without blocking the UI thread.
-     * Uses callbacks to handle completion instead of blocking polling loops.
-     * Mimics the original loadSurvey logic but with callbacks for better UI responsiveness.
+     * Completion is signalled by the plugin's {@code setSurvey} rather than polled, so no
+     * thread waits while Ariane loads; callbacks run on the plugin executor. The timeout
+     * defaults to {@link TIMINGS#SURVEY_LOAD_TIMEOUT_MILLIS} and can be raised for very
+     * large surveys with the {@code speleodb.survey.load.timeout.millis} system property.
      *
      * @param surveyFile the survey file to load
      * @param onSuccess callback executed when loading succeeds
      * @param onError callback executed when loading fails
      */
     private void loadSurveyAsync(File surveyFile, Runnable onSuccess, java.util.function.Consumer<Exception> onError) {
-        // Execute entirely in background to avoid blocking UI
-        parentPlugin.executorService.execute(() -> {
-            try {
-                // Set up survey loading on JavaFX thread (same as original loadSurvey)
-                final java.util.concurrent.atomic.AtomicBoolean loadingLock = new java.util.concurrent.atomic.AtomicBoolean(false);
-
-                Platform.runLater(() -> {
-                    loadingLock.set(true);  // Set lock before starting (matches original)
-                    parentPlugin.setSurvey(null); // Clear existing survey
-                    parentPlugin.setSurveyFile(surveyFile); // Set the file
-                    parentPlugin.getCommandProperty().set(DataServerCommands.LOAD.name());  // Trigger load command
-                });
-
-                // Wait for the survey to be loaded (polling with timeout) - same logic as original
-                var start = java.time.LocalDateTime.now();
-                final int TIMEOUT = 10000; // 10 seconds timeout
+        // Completed by SpeleoDBPlugin.setSurvey() the moment Ariane finishes loading: no polling thread
+        CompletableFuture<CaveSurveyInterface> loaded = parentPlugin.awaitNextSurveyLoad();
+        long timeoutMillis = Long.getLong(TIMINGS.SURVEY_LOAD_TIMEOUT_PROPERTY, TIMINGS.SURVEY_LOAD_TIMEOUT_MILLIS);
 
-                while (loadingLock.get() && java.time.Duration.between(start, java.time.LocalDateTime.now()).toMillis() < TIMEOUT) {
-                    try {
-                        Thread.sleep(50); // Same 50ms interval as original
-
-                        // Check if survey was set (this clears the lock in original setSurvey method)
-                        if (parentPlugin.getSurvey() != null) {
-                            loadingLock.set(false); // Survey loaded successfully
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        logger.warn("Survey loading interrupted");
-                        onError.accept(new Exception("Survey loading was interrupted"));
-                        return;
-                    }
-                }
-
-                // Check results (same as original)
-                if (loadingLock.get()) {
-                    logger.error("Timeout while loading survey: " + surveyFile.getName());
-                    loadingLock.set(false); // Reset lock on timeout
-                    onError.accept(new Exception("Timeout while loading survey file"));
-                } else {
+        loaded.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .whenCompleteAsync((survey, failure) -> {
+                if (failure == null) {
                     logger.info("Survey loaded successfully: " + surveyFile.getName());
                     onSuccess.run();
+                } else if (failure instanceof TimeoutException) {
+                    logger.error("Timeout while loading survey: " + surveyFile.getName()
+                            + " (waited " + timeoutMillis + " ms)");
+                    onError.accept(new Exception("Timeout while loading survey file"));
+                } else if (failure instanceof CancellationException) {
+                    logger.warn("Survey loading superseded by a newer load: " + surveyFile.getName());
+                    onError.accept(new Exception("Survey loading was interrupted"));
+                } else {
+                    logger.error("Error loading survey: " + failure.getMessage());
+                    onError.accept(failure instanceof Exception ex ? ex : new Exception(failure));
                 }
+            }, parentPlugin.executorService);
 
-            } catch (Exception e) {
-                // Unexpected error during setup
-                logger.error("Error setting up survey loading: " + e.getMessage());
-                onError.accept(e);
-            }
-        });
+        try {
+            // Trigger the load on the JavaFX thread (same sequence as the original loadSurvey)
+            Platform.runLater(() -> {
+                parentPlugin.setSurvey(null); // Clear existing survey
+                parentPlugin.setSurveyFile(surveyFile); // Set the file
+                parentPlugin.getCommandProperty().set(DataServerCommands.LOAD.name());  // Trigger load command
+            });
+        } catch (Exception e) {
+            // Unexpected error during setup
+            logger.error("Error setting up survey loading: " + e.getMessage());
+            loaded.cancel(false);
+        }
     }
 
     /**
@@ -2121,14 +2398,11 @@ public class SpeleoDBController implements Initializable {
      * Waits for a TML file to be fully written and pass full CRC32 ZIP validation.
      *
      * <p>Ariane writes {@code .tml} (ZIP) files asynchronously, so the file may still
-     * be incomplete when we first check. This method polls with <b>exponential backoff</b>
-     * (50 ms → 100 → 200 → 400 → 800 → 1000 ms cap) to balance responsiveness against
-     * I/O overhead, with a total timeout of
-     * {@value SpeleoDBConstants.TIMINGS#FILE_STABILITY_TIMEOUT_MILLIS} ms.</p>
-     *
-     * <p>Each attempt runs {@link #isValidZipFile(java.io.File)}, which decompresses
-     * every entry and verifies CRC32 checksums — equivalent to Python's
-     * {@code ZipFile.testzip()}.</p>
+     * be incomplete when we first check. Rather than re-validating on a timer, this waits
+     * via {@link FileReadinessWatcher} until the file stops changing, then runs
+     * {@link #isValidZipFile(java.io.File)} once, which decompresses every entry and
+     * verifies CRC32 checksums — equivalent to Python's {@code ZipFile.testzip()}. The
+     * total timeout is {@value SpeleoDBConstants.TIMINGS#FILE_STABILITY_TIMEOUT_MILLIS} ms.</p>
      *
      * @param file the TML/ZIP file to wait for
      * @return true if the file passes full ZIP/CRC32 validation, false on timeout or interruption
@@ -2137,50 +2411,99 @@ public class SpeleoDBController implements Initializable {
         if (file == null) {
             return false;
         }
+        try {
+            return awaitFileReady(file, () -> isValidZipFile(file) ? Boolean.TRUE : null) != null;
+        } catch (java.io.IOException e) {
+            // isValidZipFile never throws; kept for the shared polling signature
+            return false;
+        }
+    }
 
-        long startTime = System.currentTimeMillis();
-        long currentBackoff = TIMINGS.FILE_STABILITY_INITIAL_BACKOFF_MILLIS;
-        int attempt = 0;
-
-        while (System.currentTimeMillis() - startTime < TIMINGS.FILE_STABILITY_TIMEOUT_MILLIS) {
-            attempt++;
+    /**
+     * Waits for a TML file to be fully written and stages it for upload via
+     * {@link PreparedUpload#stage(java.nio.file.Path, java.nio.file.Path)}, which copies and
+     * SHA-256-hashes the file in one streaming read, then validates the copy in a separate
+     * {@link TmlVerifier} pass that only inflates entries changed since the last staging.
+     * Uses the same readiness detection as {@link #waitForFileStability(java.io.File)};
+     * staging is retried after the next write while the source is not yet a complete ZIP
+     * archive.
+     *
+     * @param source the survey file written by Ariane
+     * @param target the staging location in the SDB project directory
+     * @return the staged upload, or null on timeout or interruption
+     * @throws java.io.IOException if the staged copy cannot be written
+     */
+    private PreparedUpload stageUploadWhenStable(java.io.File source, java.nio.file.Path target)
+            throws java.io.IOException {
+        if (source == null) {
+            return null;
+        }
+        return awaitFileReady(source, () -> {
             try {
-                if (file.exists() && isValidZipFile(file)) {
-                    long elapsed = System.currentTimeMillis() - startTime;
-                    logger.debug("ZIP validation passed after " + attempt +
-                                 " attempt(s) in " + elapsed + "ms");
-                    return true;
-                }
+                return PreparedUpload.stage(source.toPath(), target);
+            } catch (java.util.zip.ZipException | java.nio.file.NoSuchFileException e) {
+                logger.debug("Upload staging failed ZIP validation: " + e.getMessage());
+                return null;
+            }
+        });
+    }
 
-                logger.debug("ZIP validation attempt " + attempt + " failed, retrying in " +
-                             currentBackoff + "ms (elapsed: " +
-                             (System.currentTimeMillis() - startTime) + "ms)");
-                Thread.sleep(currentBackoff);
-                currentBackoff = Math.min(currentBackoff * 2, TIMINGS.FILE_STABILITY_MAX_BACKOFF_MILLIS);
+    /**
+     * One validation attempt: returns a result once the file is ready, or null to retry.
+     */
+    @FunctionalInterface
+    private interface StabilityAttempt<T> {
+        T attempt() throws java.io.IOException;
+    }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warn("File stability wait interrupted");
-                return false;
+    /**
+     * Runs {@code attempt} each time the file has settled (no writes for
+     * {@value SpeleoDBConstants.TIMINGS#FILE_STABILITY_QUIET_MILLIS} ms) until it returns a
+     * non-null result or {@value SpeleoDBConstants.TIMINGS#FILE_STABILITY_TIMEOUT_MILLIS} ms
+     * elapse. After a failed attempt the next one waits for the file to change again, so
+     * a large archive is fully decompressed once per completed write, not once per tick.
+     *
+     * @return the first non-null result, or null on timeout or interruption
+     */
+    private <T> T awaitFileReady(java.io.File file, StabilityAttempt<T> attempt) throws java.io.IOException {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + TIMINGS.FILE_STABILITY_TIMEOUT_MILLIS;
+        int attemptCount = 0;
+
+        try (FileReadinessWatcher watcher = FileReadinessWatcher.open(file.toPath())) {
+            while (watcher.awaitQuiescent(TIMINGS.FILE_STABILITY_QUIET_MILLIS, deadline)) {
+                attemptCount++;
+                T result = attempt.attempt();
+                if (result != null) {
+                    logger.debug("ZIP validation passed after " + attemptCount +
+                                 " attempt(s) in " + (System.currentTimeMillis() - startTime) + "ms");
+                    return result;
+                }
+
+                logger.debug("ZIP validation attempt " + attemptCount + " failed, waiting for the file to change " +
+                             "(elapsed: " + (System.currentTimeMillis() - startTime) + "ms)");
+                if (!watcher.awaitChange(deadline)) {
+                    break;
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("File stability wait interrupted");
+            return null;
         }
 
         logger.warn("ZIP validation timeout after " + TIMINGS.FILE_STABILITY_TIMEOUT_MILLIS +
-                     "ms (" + attempt + " attempts). File size: " +
+                     "ms (" + attemptCount + " attempts). File size: " +
                      (file.exists() ? file.length() : 0) + " bytes");
-        return false;
+        return null;
     }
 
     /**
-     * Validates a file as a complete, intact ZIP archive by reading and decompressing
-     * every entry and verifying CRC32 checksums. This is equivalent to Python's
-     * {@code ZipFile.testzip()} and guarantees that a file passing this check will
-     * also pass server-side validation, preventing {@code BadZipFile} errors from
-     * the SpeleoDB API.
-     *
-     * <p>The verification works because Java's {@link java.util.zip.ZipFile} automatically
-     * checks CRC32 on read: if the stored checksum does not match the decompressed data,
-     * a {@link java.util.zip.ZipException} is thrown.</p>
+     * Validates a file as a complete, intact ZIP archive by checking its central directory
+     * and then decompressing every entry and verifying CRC32 checksums (see
+     * {@link TmlVerifier}). This is equivalent to Python's {@code ZipFile.testzip()} and
+     * guarantees that a file passing this check will also pass server-side validation,
+     * preventing {@code BadZipFile} errors from the SpeleoDB API.
      *
      * @param file the file to validate
      * @return true if the file is a valid ZIP with at least one entry and all CRC32 checksums pass
@@ -2189,33 +2512,24 @@ public class SpeleoDBController implements Initializable {
         if (file == null || !file.exists()) {
             return false;
         }
+        return TmlVerifier.getInstance().isValid(file.toPath());
+    }
 
-        try (java.util.zip.ZipFile zipFile = new java.util.zip.ZipFile(file)) {
-            java.util.Enumeration<? extends java.util.zip.ZipEntry> entries = zipFile.entries();
-            if (!entries.hasMoreElements()) {
-                return false;
-            }
-
-            byte[] buffer = new byte[8192];
-            while (entries.hasMoreElements()) {
-                java.util.zip.ZipEntry entry = entries.nextElement();
-                if (entry.isDirectory()) {
-                    continue;
-                }
-                // Reading all bytes triggers CRC32 verification against the stored checksum
-                try (java.io.InputStream is = zipFile.getInputStream(entry)) {
-                    while (is.read(buffer) != -1) {
-                        // drain — CRC32 is verified on read by ZipFile
-                    }
-                }
-            }
-            return true;
-        } catch (java.util.zip.ZipException e) {
-            logger.debug("ZIP validation failed (ZipException): " + e.getMessage());
-            return false;
-        } catch (java.io.IOException e) {
-            logger.debug("ZIP validation failed (IOException): " + e.getMessage());
-            return false;
+    /**
+     * Post-download integrity check: never hand a damaged archive to Ariane. A file that
+     * fails is deleted so the next open downloads it again instead of reusing it.
+     *
+     * @param tmlFilepath the freshly downloaded project file
+     * @throws IOException if the file is not a complete, CRC-valid TML archive
+     */
+    private void verifyDownloadedProject(Path tmlFilepath) throws IOException {
+        try {
+            // Same identity as upload staging, so a later save only re-checks changed entries
+            TmlVerifier.getInstance().verify(tmlFilepath, tmlFilepath);
+        } catch (IOException e) {
+            logger.error("Downloaded project file failed integrity check: " + e.getMessage());
+            Files.deleteIfExists(tmlFilepath);
+            throw e;
         }
     }
 
@@ -2241,20 +2555,39 @@ public class SpeleoDBController implements Initializable {
                 projectActionsPane.setText("Project: `" + projectName + "`.");
                 uploadButton.setDisable(false);
                 currentProject = project;
+                startLockHeartbeat();
             } else {
                 // Hide actions pane for read-only projects
                 projectActionsPane.setVisible(false);
                 projectActionsPane.setExpanded(false);
                 uploadButton.setDisable(true);
                 currentProject = null; // Don't set current project for read-only
+                stopLockHeartbeat();
             }
         });
 
         // Download and load project (same logic for both read-only and writable)
         try {
-            // Download project
-            logger.info("Downloading project: " + projectName);
-            Path tmlFilepath = speleoDBService.downloadProject(project);
+            // Reuse the local copy when the listing says it is current. Not when editing: the
+            // listing may predate a save made before the lock was taken, so the download below
+            // asks the server instead (a conditional request, no transfer if unchanged)
+            Optional<Path> cachedFilepath = hasWriteAccess && !isWorkingOffline()
+                    ? Optional.empty()
+                    : speleoDBService.findCachedProject(project);
+            Path tmlFilepath;
+            if (cachedFilepath.isPresent()) {
+                logger.info("Project is up to date locally, skipping download: " + projectName);
+                tmlFilepath = cachedFilepath.get();
+            } else if (isWorkingOffline()) {
+                // Offline, any local copy beats nothing
+                tmlFilepath = speleoDBService.findLocalProject(project).orElseThrow(() -> new ServerOfflineException(
+                        "Project " + projectName + " was never downloaded and is not available offline"));
+                logger.info("Working offline, opening the last downloaded copy: " + projectName);
+            } else {
+                logger.info("Downloading project: " + projectName);
+                tmlFilepath = speleoDBService.downloadProject(project);
+                verifyDownloadedProject(tmlFilepath);
+            }
 
             Platform.runLater(() -> {
                 loadProject(project, tmlFilepath, projectName, hasWriteAccess);
@@ -2272,12 +2605,11 @@ public class SpeleoDBController implements Initializable {
     }
 
     /**
-     * Handles the action performed when a project button is clicked.
+     * Handles the action performed when a project card is clicked.
      *
-     * @param event       The ActionEvent triggered by the button click.
      * @param projectItem The JsonObject containing project metadata.
      */
-    private void handleProjectCardClickAction(ActionEvent event, JsonObject projectItem) {
+    private void handleProjectCardClickAction(JsonObject projectItem) {
         setUILoadingState(true);
 
         parentPlugin.executorService.execute(() -> {
@@ -2312,7 +2644,7 @@ public class SpeleoDBController implements Initializable {
 
                 try {
                     logger.debug("Proceeding with project selection: " + selectedProjectName);
-                    clickSpeleoDBProject(event);
+                    clickSpeleoDBProject(projectItem);
                 } catch (IOException | URISyntaxException e) {
                     logger.error("Error opening project: " + getSafeErrorMessage(e));
                     setUILoadingState(false);
@@ -2358,39 +2690,70 @@ public class SpeleoDBController implements Initializable {
                     return;
                 }
 
-                // Wait for the file to be fully written (avoid race condition with async save)
-                if (!waitForFileStability(sourceFile)) {
+                // Wait for the file to be fully written (avoid race condition with async save),
+                // then copy, validate and hash it into the SDB working path in a single read
+                String projectId = currentProject.getString("id");
+                java.nio.file.Path destPath = java.nio.file.Paths.get(PATHS.SDB_PROJECT_DIR + java.io.File.separator + projectId + PATHS.TML_FILE_EXTENSION);
+                PreparedUpload prepared;
+                try {
+                    prepared = stageUploadWhenStable(sourceFile, destPath);
+                } catch (java.io.IOException ioEx) {
+                    logger.error("Failed to copy survey file before upload: " + ioEx.getMessage());
                     Platform.runLater(() -> {
-                        showErrorAnimation("File not ready");
+                        showErrorAnimation("Save copy failed");
                         SpeleoDBModals.showError(
                             DIALOGS.TITLE_PROJECT_NOT_SAVED,
-                            "The survey file is not ready yet. The save operation may still be in progress.\n\n" +
-                            "Please wait a moment and try again, or manually save your project (CTRL+S/CMD+S) first."
+                            "Could not prepare project file for upload. Please save your project (CTRL+S/CMD+S) and try again."
                         );
                         setUILoadingState(false);
                     });
                     return;
                 }
-
-                String projectId = currentProject.getString("id");
-                java.nio.file.Path destPath = java.nio.file.Paths.get(PATHS.SDB_PROJECT_DIR + java.io.File.separator + projectId + PATHS.TML_FILE_EXTENSION);
-                try {
-                    java.nio.file.Files.createDirectories(destPath.getParent());
-                    java.nio.file.Files.copy(sourceFile.toPath(), destPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                } catch (java.io.IOException ioEx) {
-                    logger.error("Failed to copy survey file before upload: " + ioEx.getMessage());
+                if (prepared == null) {
                     Platform.runLater(() -> {
-                        showErrorAnimation("Save copy failed");
+                        showErrorAnimation("File not ready");
                         SpeleoDBModals.showError(
                             DIALOGS.TITLE_PROJECT_NOT_SAVED,
-                            "Could not prepare project file for upload. Please save your project (CTRL+S/CMD+S) and try again."
+                            "The survey file is not ready yet. The save operation may still be in progress.\n\n" +
+                            "Please wait a moment and try again, or manually save your project (CTRL+S/CMD+S) first."
                         );
                         setUILoadingState(false);
                     });
                     return;
                 }
 
-                speleoDBService.uploadProject(commitMessage, currentProject);
+                // Same bytes as the last upload or download: the server could only answer 304.
+                // Unless a queued offline save still has to go out, which this upload replaces
+                if (!uploadOutbox.contains(projectId)
+                        && speleoDBService.isUnchangedSinceLastSync(currentProject, prepared)) {
+                    logger.info("Project unchanged since last sync, skipping upload");
+                    throw new NotModifiedException(MESSAGES.PROJECT_UPLOAD_NOT_MODIFIED);
+                }
+
+                // Unreachable instance: keep the snapshot in the outbox rather than failing the save
+                if (isWorkingOffline() && queueOfflineUpload(commitMessage, currentProject, prepared)) {
+                    return;
+                }
+                // Take over a queued snapshot of this project first, so a replay cannot upload
+                // the older snapshot after this one; its message travels with this upload. It
+                // leaves the outbox only once this upload got through
+                String uploadMessage = uploadOutbox.supersede(projectId, commitMessage);
+                try {
+                    speleoDBService.uploadProject(uploadMessage, currentProject, prepared);
+                } catch (NotModifiedException e) {
+                    // The server already has this snapshot, which contains the queued one
+                    uploadOutbox.commitSupersede(projectId);
+                    throw e;
+                } catch (Exception e) {
+                    uploadOutbox.restoreSupersede(projectId);
+                    // Queueing merges with the restored entry, which already carries its messages
+                    if (e instanceof IOException && isServerOfflineError(e)
+                            && queueOfflineUpload(commitMessage, currentProject, prepared)) {
+                        return;
+                    }
+                    throw e;
+                }
+                uploadOutbox.commitSupersede(projectId);
                 logger.info("Upload successful.");
 
                 Platform.runLater(() -> {
@@ -2842,6 +3205,7 @@ public class SpeleoDBController implements Initializable {
         if (result.isReleased()) {
             // Success: Clear current project and update UI
             currentProject = null;
+            stopLockHeartbeat();
 
             Platform.runLater(() -> {
                 projectActionsPane.setVisible(false);
@@ -2950,6 +3314,7 @@ public class SpeleoDBController implements Initializable {
         if (result.isAcquired()) {
             // Success: Set as current project and enable UI controls
             currentProject = project;
+            startLockHeartbeat();
 
             // Show success animation
             Platform.runLater(() -> {
@@ -2999,6 +3364,72 @@ public class SpeleoDBController implements Initializable {
         }
     }
 
+    // ==================== LOCK HEARTBEAT ==================== //
+
+    /**
+     * Starts (or restarts) periodic refreshing of the lock on {@link #currentProject}.
+     */
+    private void startLockHeartbeat() {
+        ProjectLockHeartbeat heartbeat;
+        synchronized (shutdownLock) {
+            if (shutdownInProgress) {
+                return;
+            }
+            if (lockHeartbeat == null) {
+                lockHeartbeat = new ProjectLockHeartbeat(() -> currentProject,
+                        project -> speleoDBService.refreshProjectMutex(project),
+                        this::handleLockLost);
+            }
+            heartbeat = lockHeartbeat;
+        }
+        heartbeat.start();
+    }
+
+    private void stopLockHeartbeat() {
+        ProjectLockHeartbeat heartbeat;
+        synchronized (shutdownLock) {
+            heartbeat = lockHeartbeat;
+        }
+        if (heartbeat != null) {
+            heartbeat.stop();
+        }
+    }
+
+    private void shutdownLockHeartbeat() {
+        ProjectLockHeartbeat heartbeat;
+        synchronized (shutdownLock) {
+            heartbeat = lockHeartbeat;
+            lockHeartbeat = null;
+        }
+        if (heartbeat != null) {
+            heartbeat.shutdown();
+        }
+    }
+
+    /**
+     * Called on the heartbeat thread when the server refuses to refresh the held lock
+     * (it expired or another user took it). The project drops to read-only so no upload
+     * is attempted without the lock; the UI is only touched for this state change.
+     */
+    void handleLockLost(JsonObject project) {
+        if (currentProject != project) {
+            return;
+        }
+        currentProject = null;
+
+        String projectName = project.getString("name", "");
+        logger.warn("Lost lock on project: " + projectName + " - changes can no longer be uploaded");
+
+        Platform.runLater(() -> {
+            uploadButton.setDisable(true);
+            projectActionsPane.setText("Project: `" + projectName + "` (lock lost, read-only).");
+            showErrorAnimation("Lock lost");
+            SpeleoDBModals.showError("Project Lock Lost",
+                    "The lock on \"" + projectName + "\" could not be refreshed: it expired or was taken by "
+                    + "another user.\n\nReopen the project to try to acquire it again.");
+        });
+    }
+
     /**
      * Cleanup method to properly close resources and prevent shutdown hangs.
      * Should be called before the controller is destroyed.
@@ -3008,6 +3439,10 @@ public class SpeleoDBController implements Initializable {
      */
     public void cleanup() {
         logger.debug("Starting SpeleoDBController cleanup");
+        logger.debug(HttpClientRegistry.getInstance().getStats());
+        if (speleoDBService != null) {
+            speleoDBService.shutdownConnectivityProbes();
+        }
 
         // Mark that normal cleanup is happening
         synchronized (shutdownLock) {
@@ -3030,6 +3465,10 @@ public class SpeleoDBController implements Initializable {
 
         // Clear field references - but keep currentProject for shutdown hook
         cachedProjectList = null;
+        cachedProjects = null;
+
+        // Stop refreshing the lock; the shutdown hook still releases it
+        shutdownLockHeartbeat();
 
         // Cleanup tooltips
         SpeleoDBTooltips.cleanup();
@@ -1,18 +1,29 @@
 package org.speleodb.ariane.plugin.speleodb;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_ASYNC_PROPERTY;
+import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_BUFFER_CAPACITY;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_DATE_FORMAT;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_DIR;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_ERROR_CREATING_DIR;
@@ -23,13 +34,14 @@ import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_FILE_MAX_SIZE_MB;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_FILE_PATH;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_FILE_ROTATION_MESSAGE;
-import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_FORMAT;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_LEVEL_DEBUG;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_LEVEL_ERROR;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_LEVEL_INFO;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_LEVEL_WARN;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_SHUTDOWN_MESSAGE;
 import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_STARTUP_MESSAGE;
+import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_WRITER_SHUTDOWN_TIMEOUT_MILLIS;
+import static org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.LOGGING.LOG_WRITER_THREAD_NAME;
 
 import javafx.application.Platform;
 
@@ -39,13 +51,20 @@ import javafx.application.Platform;
  * Features:
  * - Thread-safe file logging with automatic rotation
  * - Multiple log levels (DEBUG, INFO, WARN, ERROR)
- * - UI console integration with level filtering
+ * - UI console integration with level filtering, appended in one batch per JavaFX pulse
  * - File logging: stores ALL levels (DEBUG, INFO, WARN, ERROR)
  * - Console logging: shows only >= INFO (INFO, WARN, ERROR) - DEBUG is hidden
  * - Graceful fallback to console if file logging fails
  * - Automatic log directory creation
  * - Clean shutdown handling
  *
+ * File output is asynchronous by default: callers only enqueue a record into a bounded
+ * lock-free {@link LogRingBuffer}, and a single writer thread formats, writes and flushes
+ * records in batches. Rotation is driven by a byte counter instead of stat calls, and
+ * {@link #shutdown()} drains everything still queued. If the buffer is full the record is
+ * dropped and counted rather than blocking the caller. Run with
+ * {@code -Dspeleodb.log.async=false} to write synchronously on the calling thread.
+ *
  * Log files are saved to: ~/.ariane/logs/speleodb-plugin.log
  */
 public final class SpeleoDBLogger {
@@ -57,12 +76,27 @@ public final class SpeleoDBLogger {
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(LOG_DATE_FORMAT);
     private final AtomicInteger messageCounter = new AtomicInteger(0);
 
-    private PrintWriter logWriter;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final boolean asyncMode = Boolean.parseBoolean(System.getProperty(LOG_ASYNC_PROPERTY, "true"));
+
+    private BufferedWriter logWriter;
+    private long logFileSize;
     private boolean initialized = false;
-    private boolean shutdownCalled = false;
+    private volatile boolean shutdownCalled = false;
+
+    // Asynchronous backend: producers enqueue, the writer thread owns logWriter and logFileSize
+    private final LogRingBuffer<LogRecord> buffer = new LogRingBuffer<>(LOG_BUFFER_CAPACITY);
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private volatile Thread writerThread;
+    private volatile boolean writerParked = false;
+    private volatile boolean writerStopRequested = false;
+    private boolean writerFailureReported = false; // writer thread only
 
     // UI Console integration
-    private SpeleoDBController uiController = null;
+    private volatile SpeleoDBController uiController = null;
+    private final ConcurrentLinkedQueue<String> pendingUILines = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean uiFlushScheduled = new AtomicBoolean(false);
 
     /**
      * Private constructor for singleton pattern
@@ -173,6 +207,10 @@ public final class SpeleoDBLogger {
 
             initialized = true;
 
+            if (asyncMode) {
+                startWriterThread();
+            }
+
             // Log startup message
             info(LOG_STARTUP_MESSAGE + LOG_FILE_PATH);
 
@@ -204,7 +242,11 @@ public final class SpeleoDBLogger {
      */
     private void initializeLogWriter() {
         try {
-            logWriter = new PrintWriter(new FileWriter(LOG_FILE_PATH, true));
+            Path logFile = Paths.get(LOG_FILE_PATH);
+            logWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            // Rotation is driven by this counter, so the file is only stat'ed when (re)opened
+            logFileSize = Files.size(logFile);
         } catch (IOException e) {
             System.err.println(LOG_ERROR_WRITING + e.getMessage());
             throw new RuntimeException(e);
@@ -221,89 +263,236 @@ public final class SpeleoDBLogger {
     private void log(String level, String message, boolean showInUI) {
         if (shutdownCalled) {
             // Fallback to console if shutdown was called
-            System.out.println(formatLogMessage(level, message));
+            System.out.print(formatLogMessage(System.currentTimeMillis(), level, message));
             return;
         }
 
+        Thread writer = writerThread;
+        if (asyncMode && writer != null && writer.isAlive()) {
+            // Hand off to the writer thread: no lock, no I/O, no formatting on the caller
+            if (buffer.offer(new LogRecord(System.currentTimeMillis(), level, message))) {
+                if (writerParked) {
+                    LockSupport.unpark(writer);
+                }
+            } else {
+                droppedRecords.incrementAndGet();
+            }
+        } else {
+            writeSynchronously(level, message);
+        }
+
+        // Log to UI console if requested (only INFO and above)
+        if (showInUI) {
+            String uiMessage = level.equals(LOG_LEVEL_INFO) ? message : level + ": " + message;
+            logToUIConsole(uiMessage);
+        }
+    }
+
+    /**
+     * Synchronous backend: formats and writes on the calling thread under the write lock.
+     */
+    private void writeSynchronously(String level, String message) {
         lock.writeLock().lock();
         try {
             if (!initialized) {
                 initialize();
             }
 
-            // Check if log rotation is needed
-            checkAndRotateLog();
-
             // Format and write to file (ALL levels go to file)
-            String formattedMessage = formatLogMessage(level, message);
-
+            String formattedMessage = formatLogMessage(System.currentTimeMillis(), level, message);
             if (logWriter != null) {
-                logWriter.print(formattedMessage);
+                writeToFile(formattedMessage);
                 logWriter.flush(); // Ensure immediate write
+                rotateIfNeeded();
             } else {
                 // Fallback to console
                 System.out.print(formattedMessage);
             }
 
-            // Log to UI console if requested (only INFO and above)
-            if (showInUI) {
-                String uiMessage = level.equals(LOG_LEVEL_INFO) ? message : level + ": " + message;
-                logToUIConsole(uiMessage);
-            }
-
         } catch (Exception e) {
             // Fallback to console if file logging fails
             System.err.println(LOG_ERROR_WRITING + e.getMessage());
-            System.out.print(formatLogMessage(level, message));
+            System.out.print(formatLogMessage(System.currentTimeMillis(), level, message));
         } finally {
             lock.writeLock().unlock();
         }
     }
 
+    // ==================== ASYNCHRONOUS WRITER ====================
+
+    /**
+     * A log call captured on the caller's thread; formatted later by the writer thread.
+     */
+    private static final class LogRecord {
+        private final long timestampMillis;
+        private final String level;
+        private final String message;
+
+        LogRecord(long timestampMillis, String level, String message) {
+            this.timestampMillis = timestampMillis;
+            this.level = level;
+            this.message = message;
+        }
+    }
+
+    private void startWriterThread() {
+        writerThread = new Thread(this::runWriter, LOG_WRITER_THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Writer loop: drains the ring buffer in batches and flushes once per batch, parking
+     * while there is nothing to write. On stop it drains whatever is left before returning.
+     */
+    private void runWriter() {
+        while (true) {
+            boolean stopping = writerStopRequested;
+            if (drainBuffer() == 0) {
+                if (stopping) {
+                    return;
+                }
+                writerParked = true;
+                // Re-check after advertising the park so an offer cannot slip through unnoticed
+                if (buffer.isEmpty() && !writerStopRequested) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerParked = false;
+            }
+        }
+    }
+
+    /**
+     * Writes every record currently in the buffer and flushes once.
+     *
+     * @return the number of records written
+     */
+    private int drainBuffer() {
+        int count = 0;
+        try {
+            long dropped = droppedRecords.getAndSet(0);
+            if (dropped > 0) {
+                writeToFile(formatLogMessage(System.currentTimeMillis(), LOG_LEVEL_WARN,
+                        dropped + " log message(s) dropped: logging buffer full"));
+            }
+
+            LogRecord logRecord;
+            while ((logRecord = buffer.poll()) != null) {
+                String formattedMessage = formatLogMessage(logRecord.timestampMillis, logRecord.level, logRecord.message);
+                if (logWriter != null) {
+                    writeToFile(formattedMessage);
+                } else {
+                    System.out.print(formattedMessage);
+                }
+                count++;
+                if (logWriter != null && logFileSize > LOG_FILE_MAX_SIZE_BYTES) {
+                    logWriter.flush();
+                    rotateLog();
+                }
+            }
+            if (count > 0 && logWriter != null) {
+                logWriter.flush();
+            }
+            writerFailureReported = false;
+        } catch (IOException | RuntimeException e) {
+            // Keep the writer alive: a failed batch must not silence every later log line
+            if (!writerFailureReported) {
+                writerFailureReported = true;
+                System.err.println(LOG_ERROR_WRITING + e);
+            }
+        } finally {
+            writtenRecords.addAndGet(count);
+        }
+        return count;
+    }
+
+    /**
+     * Blocks until every record logged before this call has been written, or the timeout
+     * elapses. A no-op in synchronous mode.
+     */
+    void flush(long timeoutMillis) {
+        Thread writer = writerThread;
+        if (!asyncMode || writer == null) {
+            return;
+        }
+        long target = buffer.offeredCount();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (writtenRecords.get() < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void writeToFile(String formattedMessage) throws IOException {
+        logWriter.write(formattedMessage);
+        // Approximates UTF-8 bytes by chars: close enough to decide when to rotate
+        logFileSize += formattedMessage.length();
+    }
+
+    private void rotateIfNeeded() {
+        if (logFileSize > LOG_FILE_MAX_SIZE_BYTES) {
+            rotateLog();
+        }
+    }
+
     /**
      * Logs a message to the UI console (if controller is available)
-     * This handles the UI display part of logging.
+     * This handles the UI display part of logging. Lines are queued and appended in one
+     * batch per JavaFX pulse: however many lines arrive, at most one flush is pending.
      */
     private void logToUIConsole(String message) {
         if (uiController != null && !shutdownCalled) {
             final int messageIndex = messageCounter.incrementAndGet();
-            final SpeleoDBController controller = uiController; // Capture reference to avoid race condition
-
-            // Log to UI (must be on JavaFX Application Thread)
-            Platform.runLater(() -> {
-                // Double-check controller is still valid when the runLater executes
-                if (controller != null && !shutdownCalled) {
-                    try {
-                        controller.appendToUILog(messageIndex + "-" + message + System.lineSeparator());
-                    } catch (Exception e) {
-                        // UI controller may have been deallocated during shutdown - fail silently
-                        // Don't log this error to avoid infinite recursion
-                    }
+            pendingUILines.add(messageIndex + "-" + message + System.lineSeparator());
+
+            if (uiFlushScheduled.compareAndSet(false, true)) {
+                try {
+                    // Log to UI (must be on JavaFX Application Thread)
+                    Platform.runLater(this::flushUILines);
+                } catch (IllegalStateException e) {
+                    // JavaFX toolkit not running: nothing can display these lines
+                    pendingUILines.clear();
+                    uiFlushScheduled.set(false);
                 }
-            });
+            }
         }
     }
 
     /**
-     * Formats a log message with timestamp and level
+     * Appends every queued UI line in a single call. Runs on the JavaFX Application Thread.
      */
-    private String formatLogMessage(String level, String message) {
-        String timestamp = LocalDateTime.now().format(dateFormatter);
-        return String.format(LOG_FORMAT, timestamp, level, message);
+    private void flushUILines() {
+        // Clear the flag first so lines queued while draining schedule the next flush
+        uiFlushScheduled.set(false);
+
+        StringBuilder batch = new StringBuilder();
+        String line;
+        while ((line = pendingUILines.poll()) != null) {
+            batch.append(line);
+        }
+
+        final SpeleoDBController controller = uiController; // Capture reference to avoid race condition
+        // Double-check controller is still valid when the runLater executes
+        if (batch.length() > 0 && controller != null && !shutdownCalled) {
+            try {
+                controller.appendToUILog(batch.toString());
+            } catch (Exception e) {
+                // UI controller may have been deallocated during shutdown - fail silently
+                // Don't log this error to avoid infinite recursion
+            }
+        }
     }
 
     /**
-     * Checks if log rotation is needed and performs it
+     * Formats a log message with timestamp and level as {@code [timestamp] LEVEL - message}
      */
-    private void checkAndRotateLog() {
-        try {
-            Path logFile = Paths.get(LOG_FILE_PATH);
-            if (Files.exists(logFile) && Files.size(logFile) > LOG_FILE_MAX_SIZE_BYTES) {
-                rotateLog();
-            }
-        } catch (IOException e) {
-            System.err.println(LOG_ERROR_ROTATING + e.getMessage());
-        }
+    private String formatLogMessage(long timestampMillis, String level, String message) {
+        String timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), zoneId).format(dateFormatter);
+        return new StringBuilder(timestamp.length() + level.length() + message.length() + 8)
+                .append('[').append(timestamp).append("] ")
+                .append(level).append(" - ")
+                .append(message).append(System.lineSeparator())
+                .toString();
     }
 
     /**
@@ -315,6 +504,7 @@ public final class SpeleoDBLogger {
             if (logWriter != null) {
                 logWriter.close();
             }
+            logWriter = null;
 
             // Rotate existing backup files
             for (int i = LOG_FILE_MAX_BACKUP_COUNT - 1; i >= 1; i--) {
@@ -388,6 +578,9 @@ public final class SpeleoDBLogger {
             diagnostics.append("- Shutdown called: ").append(shutdownCalled).append("\n");
             diagnostics.append("- UI Controller: ").append(uiController != null ? "Connected" : "NULL").append("\n");
             diagnostics.append("- Message Counter: ").append(messageCounter.get()).append("\n");
+            diagnostics.append("- Mode: ").append(asyncMode ? "asynchronous" : "synchronous").append("\n");
+            diagnostics.append("- Records written (async): ").append(writtenRecords.get()).append("\n");
+            diagnostics.append("- Records pending drop report: ").append(droppedRecords.get()).append("\n");
             diagnostics.append("- Log directory: ").append(LOG_DIR).append("\n");
             diagnostics.append("- Log file: ").append(LOG_FILE_PATH).append("\n");
             diagnostics.append("- Max file size: ").append(LOG_FILE_MAX_SIZE_MB).append(" MB\n");
@@ -415,27 +608,61 @@ public final class SpeleoDBLogger {
     }
 
     /**
-     * Shuts down the logging system gracefully
+     * Shuts down the logging system gracefully. In asynchronous mode every record queued
+     * before this call is written before the file is closed.
      */
     public void shutdown() {
+        Thread writer;
+        synchronized (this) {
+            if (shutdownCalled || writerStopRequested) return;
+            writerStopRequested = true;
+            writer = writerThread;
+        }
+
+        // Drain the queue before taking the lock: the writer owns the file until it exits
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(LOG_WRITER_SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writer.isAlive()) {
+                System.err.println(LOG_ERROR_WRITING + "log writer did not drain within "
+                        + LOG_WRITER_SHUTDOWN_TIMEOUT_MILLIS + " ms");
+            }
+        }
+
         lock.writeLock().lock();
         try {
             if (shutdownCalled) return;
 
+            // Records enqueued while the writer was finishing; it has exited, so this thread is the consumer now
+            if (writer != null && !writer.isAlive()) {
+                drainBuffer();
+            }
+
             // Clear UI controller reference FIRST to prevent new UI logging attempts
             uiController = null;
 
             // Write shutdown message to file BEFORE setting the flag so it goes to the log file
-            if (logWriter != null) {
-                String formattedMessage = formatLogMessage(LOG_LEVEL_INFO, LOG_SHUTDOWN_MESSAGE);
-                logWriter.print(formattedMessage);
-                logWriter.flush();
+            if (logWriter != null && (writer == null || !writer.isAlive())) {
+                try {
+                    logWriter.write(formatLogMessage(System.currentTimeMillis(), LOG_LEVEL_INFO, LOG_SHUTDOWN_MESSAGE));
+                    logWriter.flush();
+                } catch (IOException e) {
+                    System.err.println(LOG_ERROR_WRITING + e.getMessage());
+                }
             }
 
             shutdownCalled = true;
 
-            if (logWriter != null) {
-                logWriter.close();
+            if (logWriter != null && (writer == null || !writer.isAlive())) {
+                try {
+                    logWriter.close();
+                } catch (IOException e) {
+                    System.err.println(LOG_ERROR_WRITING + e.getMessage());
+                }
                 logWriter = null;
             }
 
@@ -4,6 +4,7 @@ package org.speleodb.ariane.plugin.speleodb;
 import java.io.File;
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,6 +36,8 @@ public class SpeleoDBPlugin implements DataServerPlugin {
     private CaveSurveyInterface survey;
     private File surveyFile;
     private final AtomicBoolean lock = new AtomicBoolean(false);
+    // Completed by the next non-null setSurvey(); see awaitNextSurveyLoad()
+    private CompletableFuture<CaveSurveyInterface> pendingSurveyLoad;
 
     /* Executor Service for Background Tasks */
     public final ExecutorService executorService = Executors.newCachedThreadPool(r -> {
@@ -81,9 +84,41 @@ public class SpeleoDBPlugin implements DataServerPlugin {
     }
 
     @Override
-    public synchronized void setSurvey(CaveSurveyInterface survey) {
-        this.survey = survey;
-        lock.set(false);
+    public void setSurvey(CaveSurveyInterface survey) {
+        CompletableFuture<CaveSurveyInterface> loaded = null;
+        synchronized (this) {
+            this.survey = survey;
+            lock.set(false);
+            if (survey != null) {
+                loaded = pendingSurveyLoad;
+                pendingSurveyLoad = null;
+            }
+        }
+        // Complete outside the monitor: dependents may call back into the plugin
+        if (loaded != null) {
+            loaded.complete(survey);
+        }
+    }
+
+    /**
+     * Returns a future completed with the survey passed to the next non-null
+     * {@link #setSurvey(CaveSurveyInterface)}, which Ariane calls once it has finished
+     * loading the file requested with {@code DataServerCommands.LOAD}. Arm it before
+     * issuing the command. A previously armed future that never completed is cancelled.
+     *
+     * @return a future completing when the next survey load finishes
+     */
+    public CompletableFuture<CaveSurveyInterface> awaitNextSurveyLoad() {
+        CompletableFuture<CaveSurveyInterface> superseded;
+        CompletableFuture<CaveSurveyInterface> loaded = new CompletableFuture<>();
+        synchronized (this) {
+            superseded = pendingSurveyLoad;
+            pendingSurveyLoad = loaded;
+        }
+        if (superseded != null) {
+            superseded.cancel(false);
+        }
+        return loaded;
     }
 
     /**
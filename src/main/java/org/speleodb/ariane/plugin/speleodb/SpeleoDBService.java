@@ -1,28 +1,41 @@
 package org.speleodb.ariane.plugin.speleodb;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.speleodb.ariane.plugin.speleodb.ProjectFileCache.Validators;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HTTP_STATUS;
@@ -34,26 +47,73 @@ import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.ProjectType;
 
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonException;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
 
 
 /**
  * Service class for handling SpeleoDB server communication.
  * Uses the centralized SpeleoDBLogger directly.
+ *
+ * <p>Project endpoints come in two flavours: blocking methods built on
+ * {@link HttpClient#send}, and {@code *Async} counterparts built on
+ * {@link HttpClient#sendAsync} that return a {@link CompletableFuture}. Both share
+ * the same request builders and response handlers, so a failed future carries the
+ * same exception the blocking call would throw.</p>
+ *
+ * <p>The idempotent blocking calls (project listing, download, lock release and
+ * announcements) go through a {@link RetryPolicy}, so a transient network error or a
+ * 429 / 502 / 503 / 504 is retried with backoff before it reaches the user.</p>
+ *
+ * <p>Every request goes through a per-instance {@link CircuitBreaker}. Once an instance
+ * cannot be connected to, requests to it fail fast with {@link ServerOfflineException}
+ * until a background probe reaches it again; {@link #setConnectivityListener} reports both
+ * transitions so the UI can switch to and from offline mode.</p>
+ *
+ * <p>A staged upload is first offered as a {@link TmlDelta}: only the TML entries changed
+ * since the revision last uploaded or downloaded. An instance that does not know the delta
+ * endpoint, or holds a different revision, gets the full archive instead.</p>
+ *
+ * <p>JSON calls accept gzip responses and decode them through {@link ContentEncoding}.
+ * TML and plugin archives are transferred as is: they are ZIP files already.</p>
  */
 public class SpeleoDBService {
     private String authToken = "";
     private String sdbInstance = "";
     private HttpClient httpClient = null;
+    private volatile String emptyTemplateSha256 = null;
+    private volatile ProjectListSnapshot projectListSnapshot = null;
+    private final Path projectDirectory;
+    private final ProjectFileCache projectFileCache;
+    private final RetryPolicy retryPolicy = RetryPolicy.fromSystemProperties();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private volatile Consumer<Boolean> connectivityListener = null;
+    // Origin whose reachability the listener follows; other hosts' breakers stay internal
+    private volatile String sessionOrigin = null;
+    private final Set<String> deltaUploadUnsupported = ConcurrentHashMap.newKeySet();
+    // One download per project at a time: they share the <id>.tml.part file
+    private final Map<String, CompletableFuture<Path>> downloadsInFlight = new ConcurrentHashMap<>();
 
     // Centralized logger instance - used directly without wrapper methods
     private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
 
     public SpeleoDBService(SpeleoDBController controller) {
+        this(controller, Paths.get(PATHS.SDB_PROJECT_DIR));
+    }
+
+    /**
+     * Creates a service keeping project files, its download cache and upload manifests in
+     * {@code projectDirectory}, so tests can keep them out of the user's project folder.
+     */
+    SpeleoDBService(SpeleoDBController controller, Path projectDirectory) {
         // Controller parameter retained for API compatibility; not currently used by the service
+        this.projectDirectory = projectDirectory;
+        this.projectFileCache = new ProjectFileCache(projectDirectory);
     }
 
     /**
@@ -77,6 +137,7 @@ public class SpeleoDBService {
      */
     private void setSDBInstance(String instanceUrl) {
         sdbInstance = resolveInstanceUrl(instanceUrl);
+        sessionOrigin = originOrNull(sdbInstance);
     }
 
     /**
@@ -143,33 +204,61 @@ public class SpeleoDBService {
     /* ===================== AUTHENTICATION MANAGEMENT ===================== */
 
     /**
-     * Creates an HTTP client with the appropriate protocol version and reliability settings
-     * based on the given instance URL.
+     * Returns the shared HTTP client for the given instance URL. Clients are kept per
+     * origin by {@link HttpClientRegistry}, so connections and TLS sessions survive across
+     * calls and logins.
      *
-     * @param instanceUrl the full instance URL (including protocol) to determine HTTP version
-     * @return HttpClient configured with appropriate HTTP version and reliability settings
+     * @param instanceUrl the full instance URL (including protocol)
+     * @return the HttpClient for that origin
      */
-    private HttpClient createHttpClientForInstance(String instanceUrl) {
-        HttpClient.Builder builder = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(NETWORK.CONNECT_TIMEOUT_SECONDS))
-                .followRedirects(HttpClient.Redirect.NORMAL);
+    private static HttpClient clientFor(String instanceUrl) {
+        return HttpClientRegistry.getInstance().clientFor(instanceUrl);
+    }
 
-        if (instanceUrl.startsWith(NETWORK.HTTP_PROTOCOL)) {
-            builder = builder.version(HttpClient.Version.HTTP_1_1);
-        } else {
-            builder = builder.version(HttpClient.Version.HTTP_2);
+    /**
+     * Opens the connection to {@code instanceUrl} in the background so that the first
+     * login does not pay DNS, TCP and TLS set-up. Disabled with
+     * {@code -Dspeleodb.http.warmup=false}.
+     *
+     * @param instanceUrl the raw instance URL, as saved in the preferences
+     * @return a future completing with true once the instance answered
+     */
+    public CompletableFuture<Boolean> preconnect(String instanceUrl) {
+        String resolved = resolveInstanceUrl(instanceUrl);
+        if (resolved == null || resolved.endsWith("://")
+                || !Boolean.parseBoolean(System.getProperty(NETWORK.HTTP_WARM_UP_PROPERTY, "true"))) {
+            return CompletableFuture.completedFuture(false);
         }
+        return HttpClientRegistry.getInstance().warmUp(resolved);
+    }
 
-        return builder.build();
+    /**
+     * Registers the listener told when the SpeleoDB instance in use (signed in to, or
+     * working offline from) becomes unreachable (false) or reachable again (true). Other
+     * hosts, e.g. the plugin download host, never switch the UI offline. Called on the
+     * thread that noticed the change.
+     */
+    public void setConnectivityListener(Consumer<Boolean> listener) {
+        connectivityListener = listener;
     }
 
     /**
-     * Creates an HTTP client using the current authenticated sdbInstance.
+     * Treats {@code instanceUrl} as unreachable right away, e.g. when the login at startup
+     * could not connect, and starts probing it in the background.
      *
-     * @return HttpClient configured for the current sdbInstance
+     * @param instanceUrl the raw instance URL, as saved in the preferences
+     */
+    public void goOffline(String instanceUrl) {
+        String resolved = resolveInstanceUrl(instanceUrl);
+        sessionOrigin = originOrNull(resolved);
+        circuitBreakerFor(resolved).trip();
+    }
+
+    /**
+     * Stops the background connectivity probes.
      */
-    private HttpClient createHttpClient() {
-        return createHttpClientForInstance(sdbInstance);
+    public void shutdownConnectivityProbes() {
+        circuitBreakers.values().forEach(CircuitBreaker::shutdown);
     }
 
     /**
@@ -202,7 +291,8 @@ public class SpeleoDBService {
      */
     public void authenticate(String email, String password, String oAuthToken, String instanceUrl) throws Exception {
         setSDBInstance(instanceUrl);
-        httpClient = createHttpClient(); // Create the HTTP client after setting the instance URL
+        projectListSnapshot = null;  // Validators are only meaningful for the instance/user they came from
+        httpClient = clientFor(sdbInstance); // Shared client for the instance, set after the instance URL
 
         URI uri = new URI(sdbInstance + API.AUTH_TOKEN_ENDPOINT);
         HttpRequest request;
@@ -212,6 +302,7 @@ public class SpeleoDBService {
             request = HttpRequest.newBuilder(uri)
                     .GET()
                     .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                    .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                     .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + oAuthToken)
                     .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                     .build();
@@ -226,11 +317,12 @@ public class SpeleoDBService {
             request = HttpRequest.newBuilder(uri)
                     .POST(HttpRequest.BodyPublishers.ofString(requestBody, java.nio.charset.StandardCharsets.UTF_8))
                     .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON_UTF8)
+                    .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                     .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                     .build();
         }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(httpClient, request, ContentEncoding.ofString());
 
         if (response.statusCode() == HTTP_STATUS.OK) {
             try {
@@ -252,7 +344,9 @@ public class SpeleoDBService {
     public void logout() {
         authToken = "";
         sdbInstance = "";
-        httpClient = null;  // Clear cached HTTP client on logout
+        sessionOrigin = null;
+        httpClient = null;  // Drop the reference; the registry keeps the connections warm
+        projectListSnapshot = null;
     }
 
     /**
@@ -281,6 +375,23 @@ public class SpeleoDBService {
      */
     public JsonObject createProject(String name, String description, String countryCode,
                                    String latitude, String longitude) throws Exception {
+        HttpRequest request = buildCreateProjectRequest(name, description, countryCode, latitude, longitude);
+        return handleCreateProjectResponse(send(httpClient, request, ContentEncoding.ofString()));
+    }
+
+    /**
+     * Asynchronous variant of {@link #createProject(String, String, String, String, String)}.
+     *
+     * @return a future completing with the created project details.
+     */
+    public CompletableFuture<JsonObject> createProjectAsync(String name, String description, String countryCode,
+                                                            String latitude, String longitude) {
+        return sendAsync(() -> buildCreateProjectRequest(name, description, countryCode, latitude, longitude),
+                ContentEncoding.ofString(), this::handleCreateProjectResponse);
+    }
+
+    private HttpRequest buildCreateProjectRequest(String name, String description, String countryCode,
+                                                  String latitude, String longitude) throws URISyntaxException {
         if (!isAuthenticated()) {
             throw new IllegalStateException(MESSAGES.USER_NOT_AUTHENTICATED_SHORT);
         }
@@ -305,15 +416,16 @@ public class SpeleoDBService {
 
         String requestBody = jsonBuilder.build().toString();
 
-        HttpRequest request = HttpRequest.newBuilder(uri)
+        return HttpRequest.newBuilder(uri)
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
+    private JsonObject handleCreateProjectResponse(HttpResponse<String> response) throws Exception {
         if (response.statusCode() == HTTP_STATUS.CREATED) {
             try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
                 JsonObject createdProject = reader.readObject();
@@ -331,50 +443,358 @@ public class SpeleoDBService {
     /**
      * Lists all projects accessible to the authenticated user.
      *
+     * <p>The last listing is kept together with the {@code ETag} / {@code Last-Modified}
+     * validators the server sent for it. Subsequent calls send them back as
+     * {@code If-None-Match} / {@code If-Modified-Since}; on HTTP 304 the previously parsed
+     * and filtered array is returned as the <em>same instance</em>, so callers can skip
+     * re-rendering with a reference comparison.</p>
+     *
      * @return A JsonArray containing project details.
      * @throws Exception if the request fails.
      */
     public JsonArray listProjects() throws Exception {
+        return listProjects(null);
+    }
+
+    /**
+     * Lists all projects accessible to the authenticated user, handing them to
+     * {@code pageListener} in pages of {@link NETWORK#PROJECT_LIST_PAGE_SIZE} while the
+     * response is still being parsed.
+     *
+     * <p>The body is read as a stream and filtered element by element, so neither the raw
+     * body nor the projects that are dropped (non-ARIANE, WEB_VIEWER) are ever held in
+     * memory as a whole. Pages are only delivered for a fresh (HTTP 200) listing; the
+     * returned array always holds the complete filtered listing.</p>
+     *
+     * @param pageListener receives each page of kept projects on the calling thread, or null
+     * @return A JsonArray containing project details.
+     * @throws Exception if the request fails.
+     */
+    public JsonArray listProjects(Consumer<List<JsonObject>> pageListener) throws Exception {
+        return handleListProjectsResponse(retryPolicy.send("Project listing", this::buildListProjectsRequest,
+                request -> send(httpClient, request, ContentEncoding.ofInputStream())), pageListener);
+    }
+
+    /**
+     * Asynchronous variant of {@link #listProjects()}.
+     *
+     * @return a future completing with the project details.
+     */
+    public CompletableFuture<JsonArray> listProjectsAsync() {
+        // The body stream is read off the HttpClient's threads: reading blocks until data arrives
+        return sendAsync(this::buildListProjectsRequest, ContentEncoding.ofInputStream(), response -> response)
+                .thenApplyAsync(unchecked((HttpResponse<InputStream> response) -> handleListProjectsResponse(response, null)));
+    }
+
+    private HttpRequest buildListProjectsRequest() throws URISyntaxException {
         if (!isAuthenticated()) {
             throw new IllegalStateException(MESSAGES.USER_NOT_AUTHENTICATED_SHORT);
         }
 
         var uri = new URI(sdbInstance + API.PROJECTS_ENDPOINT);
 
-        HttpRequest request = HttpRequest.newBuilder(uri)
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
                 .GET()
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
-                .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
-                .build();
+                .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS));  // Add request timeout
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        ProjectListSnapshot snapshot = projectListSnapshot;
+        if (snapshot != null) {
+            snapshot.etag.ifPresent(etag -> builder.setHeader(HEADERS.IF_NONE_MATCH, etag));
+            snapshot.lastModified.ifPresent(date -> builder.setHeader(HEADERS.IF_MODIFIED_SINCE, date));
+        }
+        return builder.build();
+    }
 
-        if (response.statusCode() != HTTP_STATUS.OK) {
-            throw new Exception(formatStatusError(MESSAGES.PROJECT_LIST_FAILED_STATUS, response.statusCode(), response.body()));
+    private JsonArray handleListProjectsResponse(HttpResponse<InputStream> response,
+                                                 Consumer<List<JsonObject>> pageListener) throws Exception {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() == HTTP_STATUS.NOT_MODIFIED) {
+                ProjectListSnapshot snapshot = projectListSnapshot;
+                if (snapshot != null) {
+                    logger.debug("Project listing not modified, reusing cached listing");
+                    return snapshot.projects;
+                }
+            }
+            if (response.statusCode() != HTTP_STATUS.OK) {
+                // Error envelopes are small; buffer them for the v2 error parser
+                String errorBody = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                throw new Exception(formatStatusError(MESSAGES.PROJECT_LIST_FAILED_STATUS, response.statusCode(), errorBody));
+            }
+
+            JsonArray filtered = parseProjectListing(body, pageListener);
+            projectFileCache.saveListing(sdbInstance, filtered);
+
+            Optional<String> etag = response.headers().firstValue(HEADERS.ETAG);
+            Optional<String> lastModified = response.headers().firstValue(HEADERS.LAST_MODIFIED);
+            projectListSnapshot = (etag.isPresent() || lastModified.isPresent())
+                    ? new ProjectListSnapshot(filtered, etag, lastModified)
+                    : null;
+            return filtered;
         }
+    }
 
-        try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
-            JsonArray projects = reader.readArray();
+    /**
+     * Streams a v2 project listing (a JSON array of projects) and keeps only the ARIANE
+     * projects the user can open, i.e. not WEB_VIEWER. One project object is materialized
+     * at a time; dropped ones are discarded immediately.
+     *
+     * @param body         the listing body
+     * @param pageListener receives consecutive pages of kept projects as they are parsed, or null
+     * @return the kept projects, in server order
+     * @throws JsonException if the body is not a JSON array
+     */
+    static JsonArray parseProjectListing(InputStream body, Consumer<List<JsonObject>> pageListener) {
+        JsonArrayBuilder kept = Json.createArrayBuilder();
+        List<JsonObject> page = new ArrayList<>(NETWORK.PROJECT_LIST_PAGE_SIZE);
+        int keptCount = 0;
+
+        try (JsonParser parser = Json.createParser(body)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new JsonException("Project listing is not a JSON array");
+            }
+            while (true) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_ARRAY) {
+                    break;
+                }
+                if (event == JsonParser.Event.START_ARRAY) {
+                    parser.skipArray();
+                    continue;
+                }
+                if (event != JsonParser.Event.START_OBJECT) {
+                    continue;
+                }
 
-            return collectToJsonArray(projects.stream()
-                    .filter(JsonObject.class::isInstance)
-                    .map(JsonObject.class::cast)
-                    .filter(project -> ProjectType.ARIANE.name().equals(project.getString(JSON_FIELDS.PROJECT_TYPE, "")))
-                    .filter(project -> !JSON_FIELDS.PERMISSION_WEB_VIEWER.equals(project.getString(JSON_FIELDS.PERMISSION, ""))));
+                JsonObject project = parser.getObject();
+                if (!ProjectType.ARIANE.name().equals(project.getString(JSON_FIELDS.PROJECT_TYPE, ""))
+                        || JSON_FIELDS.PERMISSION_WEB_VIEWER.equals(project.getString(JSON_FIELDS.PERMISSION, ""))) {
+                    continue;
+                }
+                kept.add(project);
+                keptCount++;
+                if (pageListener != null) {
+                    page.add(project);
+                    if (page.size() == NETWORK.PROJECT_LIST_PAGE_SIZE) {
+                        pageListener.accept(List.copyOf(page));
+                        page.clear();
+                    }
+                }
+            }
+        }
+
+        if (pageListener != null && !page.isEmpty()) {
+            pageListener.accept(List.copyOf(page));
+        }
+        logger.debug("Parsed project listing: " + keptCount + " projects kept");
+        return kept.build();
+    }
+
+    /**
+     * The last filtered project listing together with the HTTP validators it was served with.
+     */
+    private static final class ProjectListSnapshot {
+        private final JsonArray projects;
+        private final Optional<String> etag;
+        private final Optional<String> lastModified;
+
+        ProjectListSnapshot(JsonArray projects, Optional<String> etag, Optional<String> lastModified) {
+            this.projects = projects;
+            this.etag = etag;
+            this.lastModified = lastModified;
         }
     }
 
     // -------------------------- Project Upload --------------------------- //
 
     /**
-     * Uploads a project to SpeleoDB.
+     * Uploads a project to SpeleoDB from its file in the SDB project directory.
      *
      * @param message the commit message for the upload.
      * @param project the project data containing the project ID.
      * @throws Exception if the upload fails.
      */
     public void uploadProject(String message, JsonObject project) throws Exception {
+        uploadProject(message, project, null);
+    }
+
+    /**
+     * Uploads a project to SpeleoDB. When a {@link PreparedUpload} is given, its staged
+     * file and SHA-256 digest are used directly, so the file is only read once more (by
+     * the streaming request body) instead of being re-hashed here, and only the entries
+     * changed since the last known revision are sent when the instance accepts deltas.
+     *
+     * @param message  the commit message for the upload.
+     * @param project  the project data containing the project ID.
+     * @param prepared the staged upload, or {@code null} to use {@code <project directory>/<id>.tml}.
+     * @throws Exception if the upload fails.
+     */
+    public void uploadProject(String message, JsonObject project, PreparedUpload prepared) throws Exception {
+        Path tmlFile = checkUploadable(message, project, prepared);
+        try {
+            if (prepared == null || !uploadProjectDelta(message, project, prepared)) {
+                // Built only now: an accepted delta never needs the full request
+                handleUploadProjectResponse(send(httpClient, buildUploadProjectRequest(message, project, tmlFile),
+                        HttpResponse.BodyHandlers.ofByteArray()));
+            }
+        } catch (NotModifiedException e) {
+            // The server already holds exactly these bytes
+            recordUploaded(project, prepared);
+            throw e;
+        }
+        recordUploaded(project, prepared);
+    }
+
+    /**
+     * Whether {@code prepared} holds exactly the bytes last uploaded to or downloaded from
+     * SpeleoDB for {@code project}, so uploading it could only be answered with 304.
+     */
+    public boolean isUnchangedSinceLastSync(JsonObject project, PreparedUpload prepared) {
+        return projectFileCache.lastSyncedSha256(project.getString(JSON_FIELDS.ID))
+                .map(sha256 -> sha256.equals(prepared.getSha256()))
+                .orElse(false);
+    }
+
+    private void recordUploaded(JsonObject project, PreparedUpload prepared) {
+        if (prepared != null) {
+            // What the server now holds is the base of the next delta and of the not-modified check
+            projectFileCache.recordManifest(project.getString(JSON_FIELDS.ID), prepared.getFile(), prepared.getSha256());
+        }
+    }
+
+    /**
+     * Sends only the entries of the staged TML that changed since the revision last
+     * uploaded or downloaded. Disabled with {@code -Dspeleodb.upload.delta=false}.
+     *
+     * @return true if the server accepted the delta; false if a full upload is needed
+     *         (no known base, too much changed, or the server cannot apply the delta)
+     */
+    private boolean uploadProjectDelta(String message, JsonObject project, PreparedUpload prepared) throws Exception {
+        String origin = HttpClientRegistry.originOf(sdbInstance);
+        if (!Boolean.parseBoolean(System.getProperty(NETWORK.UPLOAD_DELTA_PROPERTY, "true"))
+                || deltaUploadUnsupported.contains(origin)) {
+            return false;
+        }
+        String projectId = project.getString(JSON_FIELDS.ID);
+        Optional<TmlManifest> base = projectFileCache.manifest(projectId);
+        if (base.isEmpty()) {
+            return false;
+        }
+
+        Path deltaFile = prepared.getFile().resolveSibling(projectId + PATHS.UPLOAD_DELTA_FILE_EXTENSION);
+        try {
+            Optional<TmlDelta> delta;
+            try {
+                delta = TmlDelta.encode(prepared.getFile(), TmlManifest.of(prepared.getFile(), prepared.getSha256()),
+                        base.get(), deltaFile);
+            } catch (IOException e) {
+                logger.debug("Could not build delta upload, sending the full project: " + e.getMessage());
+                return false;
+            }
+            if (delta.isEmpty()) {
+                return false;
+            }
+
+            HttpResponse<byte[]> response = send(httpClient, buildUploadProjectDeltaRequest(message, project, delta.get()),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            switch (response.statusCode()) {
+                case HTTP_STATUS.NOT_FOUND, HTTP_STATUS.METHOD_NOT_ALLOWED, HTTP_STATUS.NOT_IMPLEMENTED -> {
+                    logger.info("SpeleoDB at " + origin + " does not accept delta uploads, sending full projects");
+                    deltaUploadUnsupported.add(origin);
+                    return false;
+                }
+                case HTTP_STATUS.CONFLICT, HTTP_STATUS.PRECONDITION_FAILED -> {
+                    logger.info("SpeleoDB holds another revision of the project than the delta base, sending it in full");
+                    return false;
+                }
+                default -> {
+                    handleUploadProjectResponse(response);
+                    logger.info("Uploaded " + delta.get().getChangedEntries().size() + " changed of "
+                            + delta.get().getTarget().entries().size() + " TML entries ("
+                            + Files.size(deltaFile) + " of " + prepared.getSize() + " bytes)");
+                    return true;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(deltaFile);
+        }
+    }
+
+    private HttpRequest buildUploadProjectDeltaRequest(String message, JsonObject project, TmlDelta delta)
+            throws URISyntaxException, IOException {
+        String sdbProjectId = project.getString(JSON_FIELDS.ID);
+        URI uri = new URI(
+            sdbInstance + API.PROJECTS_ENDPOINT +
+            sdbProjectId + API.UPLOAD_ARIANE_TML_DELTA_PATH
+        );
+
+        HTTPRequestMultipartBody multipartBody = new HTTPRequestMultipartBody.Builder()
+                .addPart(JSON_FIELDS.MESSAGE, message.strip())
+                .addPart(JSON_FIELDS.BASE_SHA256, delta.getBase().sha256())
+                .addPart(JSON_FIELDS.SHA256, delta.getTarget().sha256())
+                .addPart(JSON_FIELDS.REMOVED_ENTRIES, String.join("\n", delta.getRemovedEntries()))
+                .addPart(JSON_FIELDS.MANIFEST, delta.getTarget().describe())
+                .addPart(JSON_FIELDS.FILE_KEY, delta.getFile().toFile(), null, sdbProjectId + PATHS.UPLOAD_DELTA_FILE_EXTENSION)
+                .buildStreaming();
+
+        return HttpRequest.newBuilder(uri)
+                .PUT(multipartBody.getBodyPublisher())
+                .setHeader(HEADERS.CONTENT_TYPE, multipartBody.getContentType())
+                .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
+                .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))
+                .build();
+    }
+
+    /**
+     * Asynchronous variant of {@link #uploadProject(String, JsonObject, PreparedUpload)},
+     * with the same delta attempt and the same record of what the server now holds. The
+     * delta is built and sent on the common pool; the full upload, when still needed, by
+     * the {@link HttpClient}'s own threads.
+     *
+     * @return a future completing when the server accepted the upload; completes
+     *         exceptionally with {@link NotModifiedException} on HTTP 304.
+     */
+    public CompletableFuture<Void> uploadProjectAsync(String message, JsonObject project, PreparedUpload prepared) {
+        Path tmlFile;
+        try {
+            tmlFile = checkUploadable(message, project, prepared);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Boolean> deltaAccepted = (prepared == null)
+                ? CompletableFuture.completedFuture(false)
+                : CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return uploadProjectDelta(message, project, prepared);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+        return deltaAccepted
+                .thenCompose(accepted -> accepted
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : sendAsync(() -> buildUploadProjectRequest(message, project, tmlFile),
+                                HttpResponse.BodyHandlers.ofByteArray(), this::handleUploadProjectResponse))
+                .whenComplete((ignored, error) -> {
+                    Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                            ? error.getCause() : error;
+                    if (cause == null || cause instanceof NotModifiedException) {
+                        recordUploaded(project, prepared);
+                    }
+                });
+    }
+
+    /**
+     * Checks an upload can be sent at all, before any request is made.
+     *
+     * @return the TML file to upload
+     */
+    private Path checkUploadable(String message, JsonObject project, PreparedUpload prepared) {
         if (!isAuthenticated()) {
             throw new IllegalStateException(MESSAGES.USER_NOT_AUTHENTICATED_SHORT);
         }
@@ -385,47 +805,54 @@ public class SpeleoDBService {
         }
 
         // TODO: Ensure MUTEX is owned before upload - either statically but maybe preferably by calling API.
-        String sdbProjectId = project.getString(JSON_FIELDS.ID);
-        Path tmpFilepath = Paths.get(PATHS.SDB_PROJECT_DIR + File.separator + sdbProjectId + PATHS.TML_FILE_EXTENSION);
+        Path tmpFilepath = (prepared != null)
+                ? prepared.getFile()
+                : projectFile(project.getString(JSON_FIELDS.ID));
 
         // Check if the TML file is the same as the empty project template
-        if (Files.exists(tmpFilepath)) {
+        String fileHash = (prepared != null) ? prepared.getSha256() : null;
+        if (fileHash == null && Files.exists(tmpFilepath)) {
             try {
-                byte[] fileData = Files.readAllBytes(tmpFilepath);
-                String fileHash = calculateSHA256(fileData);
-
-                String emptyTemplateHash = getEmptyTemplateSHA256();
-                if (emptyTemplateHash != null && emptyTemplateHash.equals(fileHash)) {
-                    throw new IllegalArgumentException(MESSAGES.PROJECT_UPLOAD_REJECTED_EMPTY);
-                }
+                fileHash = calculateSHA256(tmpFilepath);
             } catch (IOException e) {
                 logger.warn("Warning: Could not verify project file hash: " + e.getMessage());
                 // Continue with upload if file reading fails - let server handle validation
             }
         }
+        if (fileHash != null) {
+            String emptyTemplateHash = getEmptyTemplateSHA256();
+            if (emptyTemplateHash != null && emptyTemplateHash.equals(fileHash)) {
+                throw new IllegalArgumentException(MESSAGES.PROJECT_UPLOAD_REJECTED_EMPTY);
+            }
+        }
+        return tmpFilepath;
+    }
 
+    private HttpRequest buildUploadProjectRequest(String message, JsonObject project, Path tmlFile)
+            throws URISyntaxException, IOException {
+        String sdbProjectId = project.getString(JSON_FIELDS.ID);
         URI uri = new URI(
             sdbInstance + API.PROJECTS_ENDPOINT +
             sdbProjectId + API.UPLOAD_ARIANE_TML_PATH
         );
 
         HTTPRequestMultipartBody multipartBody = new HTTPRequestMultipartBody.Builder()
-                .addPart(JSON_FIELDS.MESSAGE, sanitizedMessage)
-                .addPart(JSON_FIELDS.FILE_KEY, tmpFilepath.toFile(), null, sdbProjectId + PATHS.TML_FILE_EXTENSION)
-                .build();
+                .addPart(JSON_FIELDS.MESSAGE, message.strip())
+                .addPart(JSON_FIELDS.FILE_KEY, tmlFile.toFile(), null, sdbProjectId + PATHS.TML_FILE_EXTENSION)
+                .buildStreaming();  // TML is streamed from disk, never copied onto the heap
 
-        HttpRequest request = HttpRequest.newBuilder(uri)
-                .PUT(HttpRequest.BodyPublishers.ofByteArray(multipartBody.getBody()))
+        return HttpRequest.newBuilder(uri)
+                .PUT(multipartBody.getBodyPublisher())
                 .setHeader(HEADERS.CONTENT_TYPE, multipartBody.getContentType())
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                 .build();
+    }
 
-        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-
+    private Void handleUploadProjectResponse(HttpResponse<byte[]> response) throws Exception {
         int status = response.statusCode();
         if (status == HTTP_STATUS.OK) {
-            return;
+            return null;
         } else if (status == HTTP_STATUS.NOT_MODIFIED) {
             throw new NotModifiedException(MESSAGES.PROJECT_UPLOAD_NOT_MODIFIED);
         }
@@ -437,57 +864,339 @@ public class SpeleoDBService {
     /**
      * Downloads a project from SpeleoDB and saves it locally.
      *
+     * <p>A successful (200) response body is streamed straight into {@code <id>.tml.part}
+     * next to the final {@code <id>.tml} and atomically moved over it once the transfer
+     * completes, so heap usage stays flat regardless of project size and a failed or
+     * interrupted transfer never leaves a truncated TML behind. Non-2xx bodies are small
+     * error envelopes and are still buffered for {@link #formatStatusError}.</p>
+     *
+     * <p>When the server supplied a validator ({@code ETag} / {@code Last-Modified}), an
+     * interrupted transfer keeps its partial file and is resumed with
+     * {@code Range}/{@code If-Range} -- immediately, up to
+     * {@value SpeleoDBConstants.NETWORK#DOWNLOAD_RESUME_ATTEMPTS} times, and again on the
+     * next call. A server that ignores the range simply sends the full file (200).</p>
+     *
+     * <p>Only one download per project runs at a time, blocking or asynchronous: a second
+     * call while one is in flight waits for it and returns its result rather than
+     * appending to the same partial file.</p>
+     *
+     * <p>When an untouched earlier download of the project is on disk, the request is
+     * conditional ({@code If-None-Match} / {@code If-Modified-Since}); a 304 keeps the
+     * local copy and transfers no body.</p>
+     *
      * @param project the project data containing the project ID.
-     * @return the Path to the downloaded project file.
+     * @return the Path to the downloaded (or confirmed up-to-date) project file.
      * @throws IOException              if file operations fail.
      * @throws InterruptedException     if the request is interrupted.
      * @throws URISyntaxException       if the URI is malformed.
      */
     public Path downloadProject(JsonObject project) throws IOException, InterruptedException, URISyntaxException {
+        String projectId = project.getString(JSON_FIELDS.ID);
+        CompletableFuture<Path> claim = new CompletableFuture<>();
+        CompletableFuture<Path> running = downloadsInFlight.putIfAbsent(projectId, claim);
+        if (running != null) {
+            // Same project already downloading (double click, async call): share its result
+            return awaitDownload(running);
+        }
+        try {
+            Path downloaded = downloadProjectExclusively(project);
+            downloadsInFlight.remove(projectId, claim);
+            claim.complete(downloaded);
+            return downloaded;
+        } catch (Throwable e) {
+            downloadsInFlight.remove(projectId, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Path awaitDownload(CompletableFuture<Path> download)
+            throws IOException, InterruptedException, URISyntaxException {
+        try {
+            return download.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof URISyntaxException uriSyntaxException) {
+                throw uriSyntaxException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private Path downloadProjectExclusively(JsonObject project) throws IOException, InterruptedException, URISyntaxException {
+        Path tmlFilepath = downloadTargetPath(project);
+        ResumableDownload download = resumableDownloadFor(project, tmlFilepath);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                // Connection failures and transient statuses are retried here; a transfer
+                // broken mid-body is resumed by this loop instead
+                HttpResponse<byte[]> response = retryPolicy.send(
+                        "Download of " + project.getString(JSON_FIELDS.NAME, "Unknown Project"),
+                        () -> buildDownloadProjectRequest(project, download),
+                        request -> send(httpClient, request, download.bodyHandler()),
+                        CircuitBreaker::isConnectFailure);
+                return handleDownloadProjectResponse(response, project, download, tmlFilepath);
+            } catch (IOException e) {
+                if (attempt >= NETWORK.DOWNLOAD_RESUME_ATTEMPTS || !shouldRetryDownload(e, download)) {
+                    download.discardUnlessResumable();
+                    throw e;
+                }
+                logDownloadRetry(project, download, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #downloadProject(JsonObject)}, with the same resume
+     * behaviour and sharing a download of the same project already in flight. The body is streamed into the partial file by the {@link HttpClient}'s
+     * own threads.
+     *
+     * @return a future completing with the Path to the downloaded project file.
+     */
+    public CompletableFuture<Path> downloadProjectAsync(JsonObject project) {
+        String projectId = project.getString(JSON_FIELDS.ID);
+        CompletableFuture<Path> claim = new CompletableFuture<>();
+        CompletableFuture<Path> running = downloadsInFlight.putIfAbsent(projectId, claim);
+        if (running != null) {
+            return running.copy();
+        }
+
+        CompletableFuture<Path> transfer;
+        try {
+            Path tmlFilepath = downloadTargetPath(project);
+            ResumableDownload download = resumableDownloadFor(project, tmlFilepath);
+            transfer = downloadProjectAsync(project, download, tmlFilepath, 0);
+        } catch (Exception e) {
+            transfer = CompletableFuture.failedFuture(e);
+        }
+        transfer.whenComplete((path, error) -> {
+            downloadsInFlight.remove(projectId, claim);
+            if (error != null) {
+                claim.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                claim.complete(path);
+            }
+        });
+        return claim.copy();
+    }
+
+    private CompletableFuture<Path> downloadProjectAsync(JsonObject project, ResumableDownload download,
+                                                         Path tmlFilepath, int attempt) {
+        return sendAsync(() -> buildDownloadProjectRequest(project, download), download.bodyHandler(),
+                response -> handleDownloadProjectResponse(response, project, download, tmlFilepath))
+                .exceptionallyCompose(error -> {
+                    Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                            ? error.getCause() : error;
+                    if (cause instanceof IOException ioException
+                            && attempt < NETWORK.DOWNLOAD_RESUME_ATTEMPTS
+                            && shouldRetryDownload(ioException, download)) {
+                        logDownloadRetry(project, download, attempt, ioException);
+                        return downloadProjectAsync(project, download, tmlFilepath, attempt + 1);
+                    }
+                    if (cause instanceof IOException) {
+                        download.discardUnlessResumable();
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    private HttpRequest buildDownloadProjectRequest(JsonObject project, ResumableDownload download) throws URISyntaxException {
         if (!isAuthenticated()) {
             throw new IllegalStateException(MESSAGES.USER_NOT_AUTHENTICATED_SHORT);
         }
 
-        String sdbProjectId = project.getString(JSON_FIELDS.ID);
-
         URI uri = new URI(
                 sdbInstance + API.PROJECTS_ENDPOINT +
-                sdbProjectId + API.DOWNLOAD_ARIANE_TML_PATH
+                project.getString(JSON_FIELDS.ID) + API.DOWNLOAD_ARIANE_TML_PATH
         );
 
-        var request = HttpRequest.newBuilder(uri)
+        HttpRequest.Builder builder = download.applyRangeHeaders(HttpRequest.newBuilder(uri)
                 .GET()
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
-                .timeout(Duration.ofSeconds(NETWORK.DOWNLOAD_TIMEOUT_SECONDS))  // Longer timeout for downloads
-                .build();
+                .timeout(Duration.ofSeconds(NETWORK.DOWNLOAD_TIMEOUT_SECONDS)));  // Longer timeout for downloads
+
+        if (!download.canResume()) {
+            // A resume is already fetching another revision; otherwise ask whether ours is current
+            projectFileCache.validators(project.getString(JSON_FIELDS.ID)).ifPresent(validators -> {
+                validators.etag().ifPresent(etag -> builder.setHeader(HEADERS.IF_NONE_MATCH, etag));
+                validators.lastModified().ifPresent(date -> builder.setHeader(HEADERS.IF_MODIFIED_SINCE, date));
+            });
+        }
+        return builder.build();
+    }
+
+    private Path downloadTargetPath(JsonObject project) {
+        return projectFile(project.getString(JSON_FIELDS.ID));
+    }
+
+    private Path projectFile(String projectId) {
+        return projectDirectory.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+    }
+
+    private static ResumableDownload resumableDownloadFor(JsonObject project, Path tmlFilepath) throws IOException {
+        Files.createDirectories(tmlFilepath.getParent());
+        String projectId = project.getString(JSON_FIELDS.ID);
+        return new ResumableDownload(
+                tmlFilepath.resolveSibling(projectId + PATHS.DOWNLOAD_TEMP_FILE_EXTENSION),
+                tmlFilepath.resolveSibling(projectId + PATHS.DOWNLOAD_RESUME_FILE_EXTENSION));
+    }
 
-        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    /**
+     * A download is retried when the server refused the range (start over) or when a
+     * dropped transfer left a resumable partial file behind.
+     */
+    private static boolean shouldRetryDownload(IOException e, ResumableDownload download) {
+        if (e instanceof ServerOfflineException) {
+            return false;
+        }
+        return e instanceof RangeNotResumableException || download.canResume();
+    }
 
-        Path tmlFilepath = Paths.get(PATHS.SDB_PROJECT_DIR + File.separator + sdbProjectId + PATHS.TML_FILE_EXTENSION);
+    private static void logDownloadRetry(JsonObject project, ResumableDownload download, int attempt, IOException e) {
+        logger.info("Download of " + project.getString(JSON_FIELDS.NAME, "Unknown Project") + " interrupted ("
+                + e.getMessage() + "), retrying from byte " + download.resumeOffset()
+                + " (attempt " + (attempt + 2) + "/" + (NETWORK.DOWNLOAD_RESUME_ATTEMPTS + 1) + ")");
+    }
 
-        switch (response.statusCode()) {
-            case HTTP_STATUS.OK -> {
-                // Successful download - save the file
-                Files.write(tmlFilepath, response.body(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    private Path handleDownloadProjectResponse(HttpResponse<byte[]> response, JsonObject project,
+                                               ResumableDownload download, Path tmlFilepath) throws IOException {
+        int status = response.statusCode();
+        if (status == HTTP_STATUS.PARTIAL_CONTENT && !download.isUsablePartialResponse(response.headers())) {
+            download.discard();
+            throw new RangeNotResumableException("Server returned a range that does not continue the partial download");
+        }
+        switch (status) {
+            case HTTP_STATUS.OK, HTTP_STATUS.PARTIAL_CONTENT -> {
+                // Successful download - promote the fully-written partial file
+                moveIntoPlace(download.getPartialFile(), tmlFilepath);
+                download.complete();
+                projectFileCache.record(project, tmlFilepath, validatorsOf(response.headers(), Validators.NONE));
                 return tmlFilepath;
             }
+            case HTTP_STATUS.NOT_MODIFIED -> {
+                // Re-checked: the local copy may have been edited while the request was out
+                String projectId = project.getString(JSON_FIELDS.ID);
+                Optional<Validators> sent = projectFileCache.validators(projectId);
+                if (sent.isEmpty()) {
+                    projectFileCache.invalidate(projectId);
+                    throw new RangeNotResumableException("Local copy changed during a conditional download");
+                }
+                logger.info("Project " + project.getString(JSON_FIELDS.NAME, "Unknown Project")
+                        + " not modified on the server, keeping the local copy");
+                projectFileCache.record(project, tmlFilepath, validatorsOf(response.headers(), sent.get()));
+                return tmlFilepath;
+            }
+            case HTTP_STATUS.RANGE_NOT_SATISFIABLE -> {
+                // Partial file is no longer a prefix of the server's file: start over
+                download.discard();
+                throw new RangeNotResumableException("Server rejected the resume range");
+            }
             case HTTP_STATUS.UNPROCESSABLE_ENTITY -> {
                 // HTTP 422: Project exists but is empty - create empty TML file.
                 logger.info(MESSAGES.PROJECT_DOWNLOAD_404_EMPTY);
-                return createEmptyTmlFileFromTemplate(sdbProjectId, project.getString(JSON_FIELDS.NAME, "Unknown Project"));
+                download.discard();
+                projectFileCache.invalidate(project.getString(JSON_FIELDS.ID));
+                return createEmptyTmlFileFromTemplate(project.getString(JSON_FIELDS.ID), project.getString(JSON_FIELDS.NAME, "Unknown Project"));
             }
             default -> {
+                if (status < 500) {
+                    // Client errors will not go away on retry; 5xx keeps the partial for later
+                    download.discard();
+                }
                 String body = decodeUtf8(response.body());
-                String errorMessage = formatStatusError(MESSAGES.PROJECT_DOWNLOAD_FAILED_STATUS, response.statusCode(), body)
+                String errorMessage = formatStatusError(MESSAGES.PROJECT_DOWNLOAD_FAILED_STATUS, status, body)
                         + MESSAGES.PROJECT_DOWNLOAD_UNEXPECTED_STATUS;
-                logger.info("Unexpected HTTP status code during project download: " + response.statusCode()
+                logger.info("Unexpected HTTP status code during project download: " + status
                         + " for project: " + project.getString(JSON_FIELDS.NAME, "Unknown Project"));
                 throw new RuntimeException(errorMessage);
             }
         }
     }
 
+    /**
+     * Validators of a download response, falling back to {@code previous} for any the
+     * server left out (a 304 need not repeat them).
+     */
+    private static Validators validatorsOf(HttpHeaders headers, Validators previous) {
+        Optional<String> etag = headers.firstValue(HEADERS.ETAG);
+        Optional<String> lastModified = headers.firstValue(HEADERS.LAST_MODIFIED);
+        return new Validators(etag.isPresent() ? etag : previous.etag(),
+                lastModified.isPresent() ? lastModified : previous.lastModified());
+    }
+
+    /**
+     * Signals that a resume attempt cannot continue the partial file and the download
+     * has to start over from byte zero.
+     */
+    private static final class RangeNotResumableException extends IOException {
+        RangeNotResumableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Returns the local copy of a project when it is still the revision described by
+     * the project's listing entry ({@code modified_date}) and has not been modified
+     * since it was downloaded, so callers can open it without a download.
+     *
+     * <p>The listing may be older than another user's save. Callers that are about to
+     * edit the project should use {@link #downloadProject(JsonObject)}, which confirms a
+     * local copy with the server instead.</p>
+     *
+     * @param project the project data from the listing.
+     * @return the up-to-date local TML, or empty if the project must be downloaded.
+     */
+    public Optional<Path> findCachedProject(JsonObject project) {
+        return projectFileCache.lookup(project);
+    }
+
+    /**
+     * Returns the local copy of a project whatever its revision, for opening it while
+     * SpeleoDB cannot be reached.
+     *
+     * @param project the project data from the listing.
+     * @return the local TML, or empty if the project was never downloaded.
+     */
+    public Optional<Path> findLocalProject(JsonObject project) {
+        return projectFileCache.localCopy(project.getString(JSON_FIELDS.ID));
+    }
+
+    /**
+     * Returns the last project listing received from {@code instanceUrl}, saved on disk so
+     * that projects can be browsed and opened offline, even after a restart.
+     *
+     * @param instanceUrl the raw instance URL, as saved in the preferences
+     * @return the saved listing, or empty if none was saved for this instance.
+     */
+    public Optional<JsonArray> loadSavedProjectListing(String instanceUrl) {
+        return projectFileCache.loadListing(resolveInstanceUrl(instanceUrl));
+    }
+
+    /**
+     * Moves {@code source} over {@code target}, atomically when the file system
+     * supports it. Readers of {@code target} therefore see either the previous
+     * complete file or the new complete file, never a partial write.
+     */
+    static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Creates an empty TML file from a template for projects that don't have content yet.
      * This method is shared between project creation and HTTP 422 download scenarios.
@@ -498,7 +1207,7 @@ public class SpeleoDBService {
      * @throws IOException if file creation fails
      */
     public Path createEmptyTmlFileFromTemplate(String projectId, String projectName) throws IOException {
-        Path tmlFilePath = Paths.get(PATHS.SDB_PROJECT_DIR + File.separator + projectId + PATHS.TML_FILE_EXTENSION);
+        Path tmlFilePath = projectFile(projectId);
 
         // Copy template from resources to target location
         try (var templateStream = getClass().getResourceAsStream(PATHS.EMPTY_TML)) {
@@ -529,17 +1238,58 @@ public class SpeleoDBService {
      * @throws InterruptedException     if the request is interrupted.
      */
     public boolean acquireOrRefreshProjectMutex(JsonObject project) throws URISyntaxException, IOException, InterruptedException {
+        HttpRequest request = buildAcquireOrRefreshProjectMutexRequest(project);
+        return handleAcquireOrRefreshProjectMutexResponse(send(httpClient, request, ContentEncoding.ofString()));
+    }
+
+    /**
+     * Asynchronous variant of {@link #acquireOrRefreshProjectMutex(JsonObject)}.
+     *
+     * @return a future completing with true if the server accepted the request, false otherwise.
+     */
+    public CompletableFuture<Boolean> acquireOrRefreshProjectMutexAsync(JsonObject project) {
+        return sendAsync(() -> buildAcquireOrRefreshProjectMutexRequest(project),
+                ContentEncoding.ofString(), this::handleAcquireOrRefreshProjectMutexResponse);
+    }
+
+    private HttpRequest buildAcquireOrRefreshProjectMutexRequest(JsonObject project) throws URISyntaxException {
         var uri = new URI(sdbInstance + API.PROJECTS_ENDPOINT + project.getString(JSON_FIELDS.ID) + API.ACQUIRE_LOCK_PATH);
 
-        var request = HttpRequest.newBuilder(uri).
+        return HttpRequest.newBuilder(uri).
                 POST(HttpRequest.BodyPublishers.ofString(""))
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Refreshes the mutex of a project already held, telling a refusal apart from a failure.
+     * Unlike {@link #acquireOrRefreshProjectMutex(JsonObject)}, only an explicit refusal
+     * (403, 409 or 423: the lock is gone or belongs to someone else) returns false; any other
+     * status, e.g. a 401 or a 5xx from a proxy, throws so the caller keeps the lock and retries.
+     *
+     * @param project the project whose lock is held.
+     * @return true if the lock was refreshed, false if the server refused it.
+     * @throws IOException              if the request fails or the server could not answer.
+     * @throws InterruptedException     if the request is interrupted.
+     * @throws URISyntaxException       if the URI is malformed.
+     */
+    public boolean refreshProjectMutex(JsonObject project) throws URISyntaxException, IOException, InterruptedException {
+        HttpResponse<String> response = send(httpClient, buildAcquireOrRefreshProjectMutexRequest(project),
+                ContentEncoding.ofString());
+        int status = response.statusCode();
+        return switch (status) {
+            case HTTP_STATUS.OK -> true;
+            case HTTP_STATUS.FORBIDDEN, HTTP_STATUS.CONFLICT, HTTP_STATUS.LOCKED ->
+                    handleAcquireOrRefreshProjectMutexResponse(response);
+            default -> throw new IOException(
+                    formatStatusError(MESSAGES.MUTEX_ACQUIRE_FAILED_STATUS, status, response.body()));
+        };
+    }
 
+    private Boolean handleAcquireOrRefreshProjectMutexResponse(HttpResponse<String> response) {
         if (response.statusCode() == HTTP_STATUS.OK) {
             return true;
         }
@@ -560,17 +1310,34 @@ public class SpeleoDBService {
      * @throws URISyntaxException       if the URI is malformed.
      */
     public boolean releaseProjectMutex(JsonObject project) throws IOException, InterruptedException, URISyntaxException {
+        return handleReleaseProjectMutexResponse(retryPolicy.send("Lock release",
+                () -> buildReleaseProjectMutexRequest(project),
+                request -> send(httpClient, request, ContentEncoding.ofString())));
+    }
+
+    /**
+     * Asynchronous variant of {@link #releaseProjectMutex(JsonObject)}.
+     *
+     * @return a future completing with true if the server accepted the request, false otherwise.
+     */
+    public CompletableFuture<Boolean> releaseProjectMutexAsync(JsonObject project) {
+        return sendAsync(() -> buildReleaseProjectMutexRequest(project),
+                ContentEncoding.ofString(), this::handleReleaseProjectMutexResponse);
+    }
+
+    private HttpRequest buildReleaseProjectMutexRequest(JsonObject project) throws URISyntaxException {
         var uri = new URI(sdbInstance + API.PROJECTS_ENDPOINT + project.getString(JSON_FIELDS.ID) + API.RELEASE_LOCK_PATH);
 
-        var request = HttpRequest.newBuilder(uri).
+        return HttpRequest.newBuilder(uri).
                 POST(HttpRequest.BodyPublishers.ofString(""))
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .setHeader(HEADERS.AUTHORIZATION, HEADERS.TOKEN_PREFIX + authToken)
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))  // Add request timeout
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
+    private Boolean handleReleaseProjectMutexResponse(HttpResponse<String> response) {
         if (response.statusCode() == HTTP_STATUS.OK) {
             return true;
         }
@@ -600,10 +1367,12 @@ public class SpeleoDBService {
         HttpRequest request = HttpRequest.newBuilder(uri)
                 .GET()
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))
                 .build();
 
-        HttpResponse<String> response = createHttpClientForInstance(tempInstance).send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = retryPolicy.send("Announcements fetch", () -> request,
+                attemptRequest -> send(clientFor(tempInstance), attemptRequest, ContentEncoding.ofString()));
 
         if (response.statusCode() != HTTP_STATUS.OK) {
             throw new Exception(formatStatusError(MESSAGES.ANNOUNCEMENTS_FETCH_FAILED_STATUS, response.statusCode(), response.body()));
@@ -661,10 +1430,11 @@ public class SpeleoDBService {
         HttpRequest request = HttpRequest.newBuilder(uri)
                 .GET()
                 .setHeader(HEADERS.CONTENT_TYPE, HEADERS.APPLICATION_JSON)
+                .setHeader(HEADERS.ACCEPT_ENCODING, ContentEncoding.acceptEncoding())
                 .timeout(Duration.ofSeconds(NETWORK.REQUEST_TIMEOUT_SECONDS))
                 .build();
 
-        HttpResponse<String> response = createHttpClientForInstance(tempInstance).send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(clientFor(tempInstance), request, ContentEncoding.ofString());
 
         if (response.statusCode() != HTTP_STATUS.OK) {
             throw new Exception(formatStatusError(MESSAGES.PLUGIN_RELEASES_FETCH_FAILED_STATUS, response.statusCode(), response.body()));
@@ -701,8 +1471,8 @@ public class SpeleoDBService {
     /**
      * Downloads the binary plugin-update artifact from an arbitrary URL (typically a
      * non-SpeleoDB host such as GitHub releases). Does not require authentication and
-     * builds its own short-lived {@link HttpClient} so it never depends on
-     * {@link #sdbInstance} or the cached authenticated client.
+     * never depends on {@link #sdbInstance}: it uses the shared client of the URL's own
+     * origin from {@link HttpClientRegistry#clientFor} and that origin's circuit breaker.
      *
      * @param url the URL to download from
      * @return byte array containing the file data
@@ -725,8 +1495,7 @@ public class SpeleoDBService {
                 .timeout(Duration.ofSeconds(NETWORK.DOWNLOAD_TIMEOUT_SECONDS))
                 .build();
 
-        HttpResponse<byte[]> response = createHttpClientForInstance(uri.toString())
-                .send(request, HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> response = send(clientFor(uri.toString()), request, HttpResponse.BodyHandlers.ofByteArray());
 
         if (response.statusCode() != HTTP_STATUS.OK) {
             throw new Exception(formatStatusError(MESSAGES.PLUGIN_UPDATE_DOWNLOAD_FAILED_STATUS, response.statusCode(), decodeUtf8(response.body())));
@@ -736,6 +1505,101 @@ public class SpeleoDBService {
 
     /* ========================= UTILITIES ======================== */
 
+    /** Builds a request; may throw the same precondition errors as the blocking API. */
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create() throws Exception;
+    }
+
+    /** Maps a response to a result; may throw the same errors as the blocking API. */
+    @FunctionalInterface
+    private interface ResponseHandler<T, R> {
+        R handle(HttpResponse<T> response) throws Exception;
+    }
+
+    /**
+     * Shared plumbing of the {@code *Async} API: builds the request, sends it with
+     * {@link HttpClient#sendAsync} and maps the response with the same handler the
+     * blocking variant uses. Precondition failures (e.g. not authenticated) yield an
+     * already-failed future rather than a synchronous throw, so callers have a single
+     * error path. The future's failure cause is the exception the blocking variant
+     * would have thrown ({@link NotModifiedException}, v2-parsed status errors, ...).
+     */
+    private <T, R> CompletableFuture<R> sendAsync(RequestFactory requestFactory,
+                                                  HttpResponse.BodyHandler<T> bodyHandler,
+                                                  ResponseHandler<T, R> responseHandler) {
+        HttpRequest request;
+        CircuitBreaker circuitBreaker;
+        try {
+            request = requestFactory.create();
+            circuitBreaker = circuitBreakerFor(request.uri().toString());
+            circuitBreaker.checkAvailable();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, bodyHandler)
+                .whenComplete((response, error) -> circuitBreaker.recordOutcome(error))
+                .thenApply(unchecked(responseHandler));
+    }
+
+    /**
+     * Blocking send through the circuit breaker of the request's instance: fails fast with
+     * {@link ServerOfflineException} while the instance is known to be unreachable, and
+     * records connect failures and successes otherwise.
+     */
+    private <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        CircuitBreaker circuitBreaker = circuitBreakerFor(request.uri().toString());
+        circuitBreaker.checkAvailable();
+        try {
+            HttpResponse<T> response = client.send(request, bodyHandler);
+            circuitBreaker.recordSuccess();
+            return response;
+        } catch (IOException e) {
+            circuitBreaker.recordFailure(e);
+            throw e;
+        }
+    }
+
+    private CircuitBreaker circuitBreakerFor(String url) {
+        return circuitBreakers.computeIfAbsent(HttpClientRegistry.originOf(url),
+                origin -> new CircuitBreaker(origin, this::handleConnectivityChange));
+    }
+
+    private void handleConnectivityChange(String origin, boolean reachable) {
+        Consumer<Boolean> listener = connectivityListener;
+        if (listener != null && origin.equals(sessionOrigin)) {
+            listener.accept(reachable);
+        }
+    }
+
+    private static String originOrNull(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return HttpClientRegistry.originOf(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Adapts a checked {@link ResponseHandler} to a {@link Function}, wrapping checked
+     * exceptions in a {@link CompletionException} so they surface unchanged as the cause.
+     */
+    private static <T, R> Function<HttpResponse<T>, R> unchecked(ResponseHandler<T, R> handler) {
+        return response -> {
+            try {
+                return handler.handle(response);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        };
+    }
+
     /**
      * Collects a stream of JsonObjects into a JsonArray (sequential only).
      *
@@ -856,32 +1720,50 @@ public class SpeleoDBService {
      * @throws RuntimeException if SHA-256 algorithm is not available
      */
     static String calculateSHA256(byte[] fileData) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(fileData);
-
-            // Convert to hex string
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+        return HexFormat.of().formatHex(newSha256Digest().digest(fileData));
+    }
+
+    /**
+     * Calculates the SHA256 hash of a file, streaming it in fixed-size chunks so large
+     * projects are never loaded into memory.
+     *
+     * @param file the file to hash
+     * @return the SHA256 hash as a lowercase hex string
+     * @throws IOException if the file cannot be read
+     */
+    static String calculateSHA256(Path file) throws IOException {
+        MessageDigest digest = newSha256Digest();
+        try (var in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
             }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 
-            return hexString.toString();
+    /**
+     * Creates a SHA-256 digest; shared with {@link PreparedUpload} so both hash identically.
+     */
+    static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
 
     /**
-     * Gets the SHA256 hash of the empty project template from resources.
+     * Gets the SHA256 hash of the empty project template from resources. The template
+     * is bundled with the plugin and never changes at runtime, so the hash is computed once.
      *
      * @return the SHA256 hash of the empty template, or null if it cannot be calculated
      */
     private String getEmptyTemplateSHA256() {
+        if (emptyTemplateSha256 != null) {
+            return emptyTemplateSha256;
+        }
         try (var templateStream = getClass().getResourceAsStream(PATHS.EMPTY_TML)) {
             if (templateStream == null) {
                 logger.warn("Empty template file not found in resources: " + PATHS.EMPTY_TML);
@@ -889,7 +1771,8 @@ public class SpeleoDBService {
             }
 
             byte[] templateData = templateStream.readAllBytes();
-            return calculateSHA256(templateData);
+            emptyTemplateSha256 = calculateSHA256(templateData);
+            return emptyTemplateSha256;
         } catch (IOException e) {
             logger.warn("Error reading empty template file for hash calculation: " + e.getMessage());
             return null;
@@ -0,0 +1,98 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
+
+/**
+ * The part of a TML that changed since a known revision, packed as a small ZIP.
+ *
+ * <p>{@link #encode} compares the manifest of the staged TML with the manifest of the
+ * revision last uploaded or downloaded ({@link TmlManifest}) and copies only the new or
+ * modified entries into the delta archive. Together with the names of removed entries and
+ * the full target manifest, the server can rebuild the survey from the revision it holds
+ * and check the result. A delta is only worth it when most of the survey is unchanged;
+ * otherwise the full archive is sent.</p>
+ */
+final class TmlDelta {
+
+    private final Path file;
+    private final TmlManifest base;
+    private final TmlManifest target;
+    private final List<String> changedEntries;
+    private final List<String> removedEntries;
+
+    private TmlDelta(Path file, TmlManifest base, TmlManifest target, List<String> changedEntries,
+                     List<String> removedEntries) {
+        this.file = file;
+        this.base = base;
+        this.target = target;
+        this.changedEntries = changedEntries;
+        this.removedEntries = removedEntries;
+    }
+
+    /**
+     * Writes the entries of {@code tmlFile} that changed since {@code base} to
+     * {@code deltaFile}.
+     *
+     * @param target the manifest of {@code tmlFile}
+     * @return the delta, or empty when nothing changed or the changed entries make up
+     *         more than {@link NETWORK#UPLOAD_DELTA_MAX_CHANGED_RATIO} of the survey
+     */
+    static Optional<TmlDelta> encode(Path tmlFile, TmlManifest target, TmlManifest base, Path deltaFile)
+            throws IOException {
+        List<String> changed = target.changedSince(base);
+        List<String> removed = target.removedSince(base);
+        if (changed.isEmpty()) {
+            // Nothing to pack (and a ZIP needs an entry); the server answers a full upload with 304
+            return Optional.empty();
+        }
+
+        Set<String> changedNames = new HashSet<>(changed);
+        long totalBytes = 0;
+        long changedBytes = 0;
+        for (var entry : target.entries().entrySet()) {
+            totalBytes += entry.getValue().size();
+            if (changedNames.contains(entry.getKey())) {
+                changedBytes += entry.getValue().size();
+            }
+        }
+        if (changedBytes > totalBytes * NETWORK.UPLOAD_DELTA_MAX_CHANGED_RATIO) {
+            return Optional.empty();
+        }
+
+        try (ZipFile source = new ZipFile(tmlFile.toFile());
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(deltaFile))) {
+            for (String name : changed) {
+                ZipEntry sourceEntry = source.getEntry(name);
+                if (sourceEntry == null) {
+                    throw new IOException("Entry vanished while packing delta: " + name);
+                }
+                ZipEntry deltaEntry = new ZipEntry(name);
+                deltaEntry.setTime(sourceEntry.getTime());
+                out.putNextEntry(deltaEntry);
+                try (InputStream in = source.getInputStream(sourceEntry)) {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+        return Optional.of(new TmlDelta(deltaFile, base, target, List.copyOf(changed), List.copyOf(removed)));
+    }
+
+    Path getFile() { return file; }
+    TmlManifest getBase() { return base; }
+    TmlManifest getTarget() { return target; }
+    List<String> getChangedEntries() { return changedEntries; }
+    List<String> getRemovedEntries() { return removedEntries; }
+}
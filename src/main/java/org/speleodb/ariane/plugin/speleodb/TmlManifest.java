@@ -0,0 +1,176 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Entry-level fingerprint of a TML (ZIP) archive: the name, CRC-32 and uncompressed size
+ * of every entry, read from the central directory without inflating anything.
+ *
+ * <p>Two manifests of the same survey tell which entries a save touched, which is what
+ * {@link TmlDelta} needs to send only those. A manifest also carries the SHA-256 of the
+ * whole archive it was taken from, so the server can check that a delta applies to the
+ * revision it holds.</p>
+ */
+final class TmlManifest {
+
+    private static final String KEY_SHA256 = "sha256";
+    private static final String ENTRY_PREFIX = "entry.";
+
+    private final String sha256;
+    private final Map<String, Fingerprint> entries;
+
+    private TmlManifest(String sha256, Map<String, Fingerprint> entries) {
+        this.sha256 = sha256;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Reads the manifest of {@code tmlFile}.
+     *
+     * @param sha256 the SHA-256 of the file, as already computed by the caller
+     * @throws java.util.zip.ZipException if the file is not a ZIP archive
+     */
+    static TmlManifest of(Path tmlFile, String sha256) throws IOException {
+        Map<String, Fingerprint> entries = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(tmlFile.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.put(entry.getName(), new Fingerprint(entry.getCrc(), entry.getSize()));
+                }
+            }
+        }
+        return new TmlManifest(sha256, entries);
+    }
+
+    /**
+     * Loads a manifest written by {@link #store}.
+     */
+    static TmlManifest load(Path manifestFile) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            properties.load(in);
+        }
+        String sha256 = properties.getProperty(KEY_SHA256);
+        if (sha256 == null) {
+            throw new IOException("Manifest without archive digest: " + manifestFile.getFileName());
+        }
+        Map<String, Fingerprint> entries = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(ENTRY_PREFIX)) {
+                entries.put(key.substring(ENTRY_PREFIX.length()), Fingerprint.parse(properties.getProperty(key)));
+            }
+        }
+        return new TmlManifest(sha256, entries);
+    }
+
+    /**
+     * Writes the manifest to {@code manifestFile} (not atomically; callers move it into place).
+     */
+    void store(Path manifestFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_SHA256, sha256);
+        entries.forEach((name, fingerprint) -> properties.setProperty(ENTRY_PREFIX + name, fingerprint.toString()));
+        try (OutputStream out = Files.newOutputStream(manifestFile)) {
+            properties.store(out, null);
+        }
+    }
+
+    String sha256() {
+        return sha256;
+    }
+
+    Map<String, Fingerprint> entries() {
+        return entries;
+    }
+
+    /**
+     * Names of the entries that are new or different in this manifest compared to {@code base}.
+     */
+    List<String> changedSince(TmlManifest base) {
+        List<String> changed = new ArrayList<>();
+        entries.forEach((name, fingerprint) -> {
+            if (!fingerprint.equals(base.entries.get(name))) {
+                changed.add(name);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Names of the entries of {@code base} that are gone from this manifest.
+     */
+    List<String> removedSince(TmlManifest base) {
+        List<String> removed = new ArrayList<>();
+        for (String name : base.entries.keySet()) {
+            if (!entries.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * One line per entry, {@code <crc32 hex> <size> <name>}, as sent to the server.
+     */
+    String describe() {
+        StringBuilder lines = new StringBuilder();
+        entries.forEach((name, fingerprint) -> lines.append(fingerprint).append(' ').append(name).append('\n'));
+        return lines.toString();
+    }
+
+    /**
+     * CRC-32 and uncompressed size of one entry.
+     */
+    static final class Fingerprint {
+        private final long crc;
+        private final long size;
+
+        Fingerprint(long crc, long size) {
+            this.crc = crc;
+            this.size = size;
+        }
+
+        long size() {
+            return size;
+        }
+
+        static Fingerprint parse(String value) {
+            int space = value.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("Malformed manifest entry: " + value);
+            }
+            return new Fingerprint(Long.parseLong(value.substring(0, space), 16), Long.parseLong(value.substring(space + 1)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Fingerprint other && crc == other.crc && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(crc, size);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%08x %d", crc, size);
+        }
+    }
+}
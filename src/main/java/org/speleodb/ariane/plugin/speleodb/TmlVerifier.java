@@ -0,0 +1,284 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Integrity check for TML (ZIP) archives, shared by the upload, import and download flows.
+ *
+ * <p>Verification runs in two stages. First the end-of-central-directory record is located
+ * in the file tail and the central directory it points to is checked for consistency, which
+ * rejects truncated or half-written files after reading a few kilobytes. Only then is every
+ * entry inflated and its CRC-32 and size compared with the central directory; archives with
+ * several large entries are inflated in parallel on the common fork/join pool.</p>
+ *
+ * <p>{@link #verify(Path, Path)} additionally remembers, per logical file, the entries that
+ * passed. On the next check of the same survey, entries whose name, CRC-32 and sizes are
+ * unchanged are not inflated again, so re-validating a large survey after a small edit only
+ * costs the changed entries.</p>
+ */
+final class TmlVerifier {
+
+    // ZIP end-of-central-directory record layout
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_MIN_SIZE = 22;
+    private static final int EOCD_MAX_COMMENT = 0xFFFF;
+    private static final int EOCD_TOTAL_ENTRIES_OFFSET = 10;
+    private static final int EOCD_CD_SIZE_OFFSET = 12;
+    private static final int EOCD_CD_OFFSET_OFFSET = 16;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_ENTRY_COUNT_MARKER = 0xFFFF;
+    private static final long ZIP64_OFFSET_MARKER = 0xFFFFFFFFL;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Below this much compressed data, thread hand-off costs more than it saves
+    private static final long PARALLEL_THRESHOLD_BYTES = 1024 * 1024;
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+    private static final TmlVerifier INSTANCE = new TmlVerifier(ForkJoinPool.commonPool());
+
+    private final Executor executor;
+    private final Map<Path, Map<String, EntryFingerprint>> verifiedEntries = new ConcurrentHashMap<>();
+
+    TmlVerifier(Executor executor) {
+        this.executor = executor;
+    }
+
+    static TmlVerifier getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Fully verifies {@code file}, logging instead of throwing.
+     *
+     * @return true if the file is a complete ZIP archive with at least one entry and all
+     *         CRC-32 checksums match
+     */
+    boolean isValid(Path file) {
+        try {
+            verify(file);
+            return true;
+        } catch (IOException e) {
+            logger.debug("ZIP validation failed (" + e.getClass().getSimpleName() + "): " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Fully verifies {@code file}: central directory first, then every entry's CRC-32.
+     *
+     * @return the number of entries in the archive
+     * @throws ZipException if the file is not a complete, CRC-valid ZIP archive
+     * @throws IOException  if the file cannot be read
+     */
+    int verify(Path file) throws IOException {
+        return verify(file, null);
+    }
+
+    /**
+     * Verifies {@code file} as the current content of the survey identified by
+     * {@code identity} (for instance the staged {@code <id>.tml} path while {@code file} is a
+     * temp copy of it). Entries unchanged since the last successful check of the same
+     * identity are not inflated again. A {@code null} identity means a full check.
+     *
+     * @return the number of entries in the archive
+     * @throws ZipException if the file is not a complete, CRC-valid ZIP archive
+     * @throws IOException  if the file cannot be read
+     */
+    int verify(Path file, Path identity) throws IOException {
+        try {
+            checkCentralDirectory(file);
+            try (ZipFile zip = new ZipFile(file.toFile())) {
+                if (zip.size() == 0) {
+                    throw new ZipException("ZIP archive has no entries");
+                }
+
+                Map<String, EntryFingerprint> previous = identity == null
+                        ? Map.of() : verifiedEntries.getOrDefault(identity, Map.of());
+                Map<String, EntryFingerprint> current = new HashMap<>();
+                List<ZipEntry> pending = new ArrayList<>();
+                zip.stream().filter(entry -> !entry.isDirectory()).forEach(entry -> {
+                    EntryFingerprint fingerprint = EntryFingerprint.of(entry);
+                    current.put(entry.getName(), fingerprint);
+                    if (!fingerprint.equals(previous.get(entry.getName()))) {
+                        pending.add(entry);
+                    }
+                });
+
+                verifyEntries(zip, pending);
+                if (identity != null) {
+                    verifiedEntries.put(identity, current);
+                    logger.debug("Verified " + pending.size() + " of " + current.size() + " ZIP entries, "
+                            + (current.size() - pending.size()) + " unchanged");
+                }
+                return zip.size();
+            }
+        } catch (IOException e) {
+            if (identity != null) {
+                verifiedEntries.remove(identity);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets what was verified for {@code identity}, forcing the next check to be full.
+     */
+    void forget(Path identity) {
+        verifiedEntries.remove(identity);
+    }
+
+    /**
+     * Locates the end-of-central-directory record and checks that the central directory it
+     * describes lies entirely within the file and starts with a central header. Reads at
+     * most the 64 KiB tail plus four bytes.
+     */
+    static void checkCentralDirectory(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            int tailLength = (int) Math.min(length, EOCD_MIN_SIZE + EOCD_MAX_COMMENT);
+            if (tailLength < EOCD_MIN_SIZE) {
+                throw new ZipException("Missing ZIP end of central directory");
+            }
+            ByteBuffer tail = ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, tail, length - tailLength);
+
+            for (int i = tailLength - EOCD_MIN_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) != EOCD_SIGNATURE) {
+                    continue;
+                }
+                int totalEntries = Short.toUnsignedInt(tail.getShort(i + EOCD_TOTAL_ENTRIES_OFFSET));
+                long cdSize = Integer.toUnsignedLong(tail.getInt(i + EOCD_CD_SIZE_OFFSET));
+                long cdOffset = Integer.toUnsignedLong(tail.getInt(i + EOCD_CD_OFFSET_OFFSET));
+                if (totalEntries == ZIP64_ENTRY_COUNT_MARKER || cdOffset == ZIP64_OFFSET_MARKER) {
+                    // ZIP64: the real values live in another record; leave it to ZipFile
+                    return;
+                }
+                if (totalEntries == 0) {
+                    throw new ZipException("ZIP archive has no entries");
+                }
+                long eocdPosition = length - tailLength + i;
+                if (cdOffset + cdSize > eocdPosition) {
+                    throw new ZipException("ZIP central directory extends past end of archive");
+                }
+                ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                readFully(channel, header, cdOffset);
+                if (header.getInt(0) != CENTRAL_HEADER_SIGNATURE) {
+                    throw new ZipException("ZIP central directory not found at recorded offset");
+                }
+                return;
+            }
+            throw new ZipException("Missing ZIP end of central directory");
+        }
+    }
+
+    private void verifyEntries(ZipFile zip, List<ZipEntry> entries) throws IOException {
+        long compressedBytes = entries.stream().mapToLong(e -> Math.max(e.getCompressedSize(), 0)).sum();
+        if (entries.size() < 2 || compressedBytes < PARALLEL_THRESHOLD_BYTES) {
+            for (ZipEntry entry : entries) {
+                verifyEntry(zip, entry);
+            }
+            return;
+        }
+
+        // ZipFile serializes raw reads internally; inflation and CRC run concurrently
+        List<CompletableFuture<Void>> checks = new ArrayList<>(entries.size());
+        for (ZipEntry entry : entries) {
+            checks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    verifyEntry(zip, entry);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static void verifyEntry(ZipFile zip, ZipEntry entry) throws IOException {
+        CRC32 crc = new CRC32();
+        long size = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = zip.getInputStream(entry)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        } catch (EOFException e) {
+            throw new ZipException("Truncated ZIP entry " + entry.getName() + ": " + e.getMessage());
+        }
+        if (entry.getSize() != -1 && size != entry.getSize()) {
+            throw new ZipException("Size mismatch for ZIP entry " + entry.getName());
+        }
+        if (entry.getCrc() != -1 && crc.getValue() != entry.getCrc()) {
+            throw new ZipException("CRC-32 mismatch for ZIP entry " + entry.getName());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("Truncated ZIP archive");
+            }
+        }
+    }
+
+    /**
+     * What the central directory says about an entry; equal fingerprints mean the entry
+     * was not rewritten.
+     */
+    private static final class EntryFingerprint {
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+
+        private EntryFingerprint(long crc, long size, long compressedSize) {
+            this.crc = crc;
+            this.size = size;
+            this.compressedSize = compressedSize;
+        }
+
+        static EntryFingerprint of(ZipEntry entry) {
+            return new EntryFingerprint(entry.getCrc(), entry.getSize(), entry.getCompressedSize());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EntryFingerprint that
+                    && crc == that.crc && size == that.size && compressedSize == that.compressedSize;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(crc, size, compressedSize);
+        }
+    }
+}
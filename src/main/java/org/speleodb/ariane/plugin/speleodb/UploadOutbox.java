@@ -0,0 +1,334 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.JSON_FIELDS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+
+/**
+ * Durable queue of uploads that could not reach SpeleoDB, replayed once it is reachable.
+ *
+ * <p>Each queued upload is a snapshot of the staged TML ({@code <id>.tml}) plus a small
+ * properties file ({@code <id>.outbox}) holding the instance, the commit message, the
+ * project's listing entry and the snapshot's digest, under {@link PATHS#UPLOAD_OUTBOX_DIR}. Both are
+ * written to a temp file and moved into place, the properties last, so a crash never
+ * leaves a half-written entry behind and the queue survives restarts.</p>
+ *
+ * <p>There is at most one entry per project: a newer snapshot supersedes the queued one,
+ * which it contains anyway, keeping its place in the queue and both commit messages.
+ * {@link #drain} replays an instance's entries oldest first and stops at the first
+ * connectivity failure.</p>
+ *
+ * <p>A direct upload of a project takes its queued entry over with {@link #supersede} and
+ * settles it with {@link #commitSupersede} once uploaded, or hands it back with
+ * {@link #restoreSupersede} if the upload fails, so the queued snapshot is never lost.</p>
+ */
+final class UploadOutbox {
+
+    /**
+     * Uploads one queued snapshot.
+     */
+    @FunctionalInterface
+    interface Uploader {
+        void upload(Entry entry) throws Exception;
+    }
+
+    private static final String KEY_SEQUENCE = "sequence";
+    private static final String KEY_INSTANCE = "instance";
+    private static final String KEY_MESSAGE = "message";
+    private static final String KEY_PROJECT = "project";
+    private static final String KEY_SHA256 = "sha256";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_ENTRY_COUNT = "entryCount";
+    private static final String MESSAGE_SEPARATOR = "\n";
+
+    private static final SpeleoDBLogger logger = SpeleoDBLogger.getInstance();
+
+    private final Path directory;
+
+    /** Projects whose queued entry is held by a direct upload in progress, never replayed. */
+    private final Set<String> superseding = new HashSet<>();
+
+    UploadOutbox(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Queues a copy of {@code prepared} for {@code project} of {@code instanceUrl},
+     * superseding any snapshot of the same project already queued.
+     */
+    synchronized Entry enqueue(String instanceUrl, JsonObject project, String message, PreparedUpload prepared)
+            throws IOException {
+        Files.createDirectories(directory);
+        String projectId = project.getString(JSON_FIELDS.ID);
+
+        long sequence = nextSequence();
+        String combinedMessage = message.strip();
+        Entry superseded = read(entryPath(projectId));
+        if (superseded != null) {
+            sequence = superseded.sequence;
+            combinedMessage = superseded.message + MESSAGE_SEPARATOR + combinedMessage;
+            logger.info("Queued upload of " + superseded.projectName() + " superseded by a newer snapshot");
+        }
+
+        Path snapshot = snapshotPath(projectId);
+        Path tempSnapshot = Files.createTempFile(directory, projectId + "-", PATHS.UPLOAD_STAGING_FILE_EXTENSION);
+        try {
+            Files.copy(prepared.getFile(), tempSnapshot, StandardCopyOption.REPLACE_EXISTING);
+            SpeleoDBService.moveIntoPlace(tempSnapshot, snapshot);
+        } finally {
+            Files.deleteIfExists(tempSnapshot);
+        }
+
+        Entry entry = new Entry(sequence, HttpClientRegistry.originOf(instanceUrl), project, combinedMessage, snapshot,
+                prepared.getSha256(), prepared.getSize(), prepared.getEntryCount());
+        write(entry);
+        return entry;
+    }
+
+    /**
+     * Queued uploads, oldest first.
+     */
+    synchronized List<Entry> pending() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + PATHS.UPLOAD_OUTBOX_ENTRY_EXTENSION)) {
+            for (Path file : files) {
+                Entry entry = read(file);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read the upload outbox: " + e.getMessage());
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+        return entries;
+    }
+
+    /**
+     * Replays the uploads queued for {@code instanceUrl} oldest first. An uploaded (or already up to date) entry
+     * leaves the queue; a rejected one, or one failing for any other reason, stays and the
+     * next is tried; a connectivity failure stops the replay so it can resume once SpeleoDB
+     * is reachable again. Entries held by {@link #supersede} are skipped.
+     *
+     * @return the number of entries uploaded
+     */
+    synchronized int drain(String instanceUrl, Uploader uploader) {
+        String origin = HttpClientRegistry.originOf(instanceUrl);
+        int uploaded = 0;
+        for (Entry entry : pending()) {
+            if (!entry.instance.equals(origin) || superseding.contains(entry.projectId())) {
+                continue;
+            }
+            try {
+                uploader.upload(entry);
+                logger.info("Uploaded queued changes of " + entry.projectName());
+                uploaded++;
+                remove(entry.projectId());
+            } catch (NotModifiedException e) {
+                logger.info("Queued changes of " + entry.projectName() + " are already on SpeleoDB");
+                remove(entry.projectId());
+            } catch (IOException e) {
+                if (e instanceof ServerOfflineException || CircuitBreaker.isConnectFailure(e)) {
+                    logger.info("Upload outbox paused, SpeleoDB unreachable: " + e.getMessage());
+                    break;
+                }
+                logger.warn("Queued upload of " + entry.projectName() + " failed and stays queued: " + e.getMessage());
+            } catch (Exception e) {
+                logger.warn("Queued upload of " + entry.projectName() + " was refused and stays queued: " + e.getMessage());
+            }
+        }
+        return uploaded;
+    }
+
+    /**
+     * Holds the queued upload of a project because a newer snapshot is about to be uploaded
+     * directly, and returns {@code message} preceded by the queued message(s). The entry
+     * stays on disk but is not replayed until {@link #commitSupersede} drops it or
+     * {@link #restoreSupersede} releases it. Runs under the outbox lock, so it waits for a
+     * replay in progress to finish: the older snapshot can never reach SpeleoDB after the
+     * direct upload.
+     */
+    synchronized String supersede(String projectId, String message) {
+        Entry queued = read(entryPath(projectId));
+        if (queued == null) {
+            return message;
+        }
+        superseding.add(projectId);
+        return queued.message + MESSAGE_SEPARATOR + message.strip();
+    }
+
+    /**
+     * Drops the entry held by {@link #supersede} now that the direct upload replacing it
+     * reached SpeleoDB. Does nothing if no entry was held for the project.
+     */
+    synchronized void commitSupersede(String projectId) {
+        if (superseding.remove(projectId)) {
+            remove(projectId);
+            logger.info("Queued upload of project " + projectId + " superseded by a direct upload");
+        }
+    }
+
+    /**
+     * Releases the entry held by {@link #supersede} after the direct upload failed, so it is
+     * replayed as before.
+     */
+    synchronized void restoreSupersede(String projectId) {
+        superseding.remove(projectId);
+    }
+
+    /**
+     * Whether an upload of a project is queued, held by {@link #supersede} or not.
+     */
+    synchronized boolean contains(String projectId) {
+        return read(entryPath(projectId)) != null;
+    }
+
+    /**
+     * Drops the queued upload of a project, e.g. once a newer snapshot was uploaded directly.
+     *
+     * @return true if an upload was queued for the project
+     */
+    synchronized boolean remove(String projectId) {
+        try {
+            boolean removed = Files.deleteIfExists(entryPath(projectId));
+            Files.deleteIfExists(snapshotPath(projectId));
+            return removed;
+        } catch (IOException e) {
+            logger.warn("Could not remove queued upload of project " + projectId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    synchronized int size() {
+        return pending().size();
+    }
+
+    private long nextSequence() {
+        long max = 0;
+        for (Entry entry : pending()) {
+            max = Math.max(max, entry.sequence);
+        }
+        return max + 1;
+    }
+
+    private void write(Entry entry) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_SEQUENCE, Long.toString(entry.sequence));
+        properties.setProperty(KEY_INSTANCE, entry.instance);
+        properties.setProperty(KEY_MESSAGE, entry.message);
+        properties.setProperty(KEY_PROJECT, entry.project.toString());
+        properties.setProperty(KEY_SHA256, entry.sha256);
+        properties.setProperty(KEY_SIZE, Long.toString(entry.size));
+        properties.setProperty(KEY_ENTRY_COUNT, Integer.toString(entry.entryCount));
+
+        Path tempFile = Files.createTempFile(directory, entry.projectId() + "-", PATHS.DOWNLOAD_TEMP_FILE_EXTENSION);
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, null);
+            }
+            SpeleoDBService.moveIntoPlace(tempFile, entryPath(entry.projectId()));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private Entry read(Path entryFile) {
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(entryFile)) {
+                properties.load(in);
+            }
+            JsonObject project;
+            try (JsonReader reader = Json.createReader(new StringReader(properties.getProperty(KEY_PROJECT, "")))) {
+                project = reader.readObject();
+            }
+            Path snapshot = snapshotPath(project.getString(JSON_FIELDS.ID));
+            if (!Files.isRegularFile(snapshot)) {
+                logger.warn("Dropping queued upload without its snapshot: " + entryFile.getFileName());
+                Files.deleteIfExists(entryFile);
+                return null;
+            }
+            return new Entry(Long.parseLong(properties.getProperty(KEY_SEQUENCE)),
+                    properties.getProperty(KEY_INSTANCE), project,
+                    properties.getProperty(KEY_MESSAGE, ""), snapshot, properties.getProperty(KEY_SHA256),
+                    Long.parseLong(properties.getProperty(KEY_SIZE)),
+                    Integer.parseInt(properties.getProperty(KEY_ENTRY_COUNT)));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable queued upload " + entryFile.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path snapshotPath(String projectId) {
+        return directory.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+    }
+
+    private Path entryPath(String projectId) {
+        return directory.resolve(projectId + PATHS.UPLOAD_OUTBOX_ENTRY_EXTENSION);
+    }
+
+    /**
+     * One queued upload: the project's listing entry, the commit message(s) and the TML
+     * snapshot to send.
+     */
+    static final class Entry {
+        private final long sequence;
+        private final String instance;
+        private final JsonObject project;
+        private final String message;
+        private final Path snapshot;
+        private final String sha256;
+        private final long size;
+        private final int entryCount;
+
+        private Entry(long sequence, String instance, JsonObject project, String message, Path snapshot,
+                      String sha256, long size, int entryCount) {
+            this.sequence = sequence;
+            this.instance = Objects.requireNonNull(instance);
+            this.project = project;
+            this.message = message;
+            this.snapshot = snapshot;
+            this.sha256 = sha256;
+            this.size = size;
+            this.entryCount = entryCount;
+        }
+
+        String instance() { return instance; }
+        JsonObject project() { return project; }
+        String projectId() { return project.getString(JSON_FIELDS.ID); }
+        String projectName() { return project.getString(JSON_FIELDS.NAME, projectId()); }
+        String message() { return message; }
+
+        /**
+         * The snapshot as a staged upload, so it is sent without being hashed again.
+         */
+        PreparedUpload toPreparedUpload() {
+            return new PreparedUpload(snapshot, sha256, size, entryCount);
+        }
+    }
+}
@@ -9,12 +9,14 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.mockito.Mockito.mock;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.provider.Arguments;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
@@ -37,7 +39,8 @@ import jakarta.json.JsonObject;
  *
  * <p>Subclasses get:
  * <ul>
- *   <li>A {@code service} field wired to a Mockito-mocked controller.</li>
+ *   <li>A {@code service} field wired to a Mockito-mocked controller, keeping project files,
+ *       cache sidecars and saved listings in the per-test {@code projectDir}.</li>
  *   <li>{@link #authenticateAgainstWireMock()} for suites that need an authenticated state.</li>
  *   <li>v2-shaped stub helpers: success bodies are returned as the JSON root (no wrapper);
  *       error bodies use the v2 envelope ({@code {"error":...}} or {@code {"errors":[...]}}).</li>
@@ -59,6 +62,10 @@ abstract class AbstractSpeleoDBServiceWireMockTest {
             .options(wireMockConfig().dynamicPort())
             .build();
 
+    /** Project directory of {@link #service}, so tests never touch the user's own projects. */
+    @TempDir
+    protected Path projectDir;
+
     protected SpeleoDBService service;
     protected SpeleoDBController controller;
 
@@ -66,7 +73,7 @@ abstract class AbstractSpeleoDBServiceWireMockTest {
     void setUpServiceAndResetWireMock() {
         wm.resetAll();
         controller = mock(SpeleoDBController.class);
-        service = new SpeleoDBService(controller);
+        service = new SpeleoDBService(controller, projectDir);
     }
 
     @AfterEach
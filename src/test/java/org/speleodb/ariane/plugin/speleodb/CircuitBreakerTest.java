@@ -0,0 +1,80 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the per-instance circuit breaker behind offline mode.
+ */
+@DisplayName("Circuit Breaker Tests")
+class CircuitBreakerTest {
+
+    private final List<Boolean> transitions = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean serverUp = new AtomicBoolean(false);
+    private final CountDownLatch reachable = new CountDownLatch(1);
+
+    private final CircuitBreaker breaker = new CircuitBreaker("https://www.speleodb.org", 2, 20,
+            () -> CompletableFuture.completedFuture(serverUp.get()),
+            (origin, up) -> {
+                transitions.add(up);
+                if (up) {
+                    reachable.countDown();
+                }
+            });
+
+    @AfterEach
+    void shutdown() {
+        breaker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive connect failures and fail fast")
+    void shouldOpenAfterConsecutiveConnectFailures() {
+        breaker.recordFailure(new ConnectException("Connection refused"));
+        assertThat(breaker.isOpen()).isFalse();
+
+        breaker.recordFailure(new ConnectException("Connection refused"));
+
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(transitions).containsExactly(false);
+        assertThatThrownBy(breaker::checkAvailable).isInstanceOf(ServerOfflineException.class);
+    }
+
+    @Test
+    @DisplayName("Should ignore errors that prove the server is there")
+    void shouldIgnoreNonConnectFailures() {
+        breaker.recordFailure(new ConnectException("Connection refused"));
+        breaker.recordFailure(new IOException("Connection reset"));
+        breaker.recordSuccess();
+        breaker.recordFailure(new ConnectException("Connection refused"));
+
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(transitions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should close again once the background probe reaches the server")
+    void shouldCloseWhenProbeSucceeds() throws Exception {
+        breaker.trip();
+        assertThat(breaker.isOpen()).isTrue();
+
+        serverUp.set(true);
+
+        assertThat(reachable.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(transitions).containsExactly(false, true);
+    }
+}
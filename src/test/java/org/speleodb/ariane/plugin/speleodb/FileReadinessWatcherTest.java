@@ -0,0 +1,102 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for FileReadinessWatcher quiescence and change detection.
+ */
+@DisplayName("File Readiness Watcher Tests")
+class FileReadinessWatcherTest {
+
+    private static final long QUIET_MILLIS = 150;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should treat a file untouched for longer than the quiet window as settled at once")
+    void shouldReturnImmediatelyForSettledFile() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("settled.tml"), "done");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60)));
+
+        try (FileReadinessWatcher watcher = FileReadinessWatcher.open(file)) {
+            long start = System.currentTimeMillis();
+
+            assertThat(watcher.awaitQuiescent(QUIET_MILLIS, start + 5000)).isTrue();
+            assertThat(System.currentTimeMillis() - start).isLessThan(QUIET_MILLIS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait until an ongoing writer stops appending")
+    void shouldWaitForWriterToFinish() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("growing.tml"), "start");
+        int appends = 5;
+        long appendIntervalMillis = 60;
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < appends; i++) {
+                    Thread.sleep(appendIntervalMillis);
+                    Files.writeString(file, "chunk", StandardOpenOption.APPEND);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        try (FileReadinessWatcher watcher = FileReadinessWatcher.open(file)) {
+            long start = System.currentTimeMillis();
+            writer.start();
+
+            assertThat(watcher.awaitQuiescent(QUIET_MILLIS, start + 5000)).isTrue();
+            assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(appends * appendIntervalMillis);
+            assertThat(Files.readString(file)).endsWith("chunk".repeat(appends));
+        } finally {
+            writer.join(5000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a change after the file is rewritten")
+    void shouldDetectChange() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("rewritten.tml"), "partial");
+
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                Files.writeString(file, "complete archive");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        try (FileReadinessWatcher watcher = FileReadinessWatcher.open(file)) {
+            writer.start();
+
+            assertThat(watcher.awaitChange(System.currentTimeMillis() + 5000)).isTrue();
+        } finally {
+            writer.join(5000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should time out while the file does not exist")
+    void shouldTimeOutForMissingFile() throws Exception {
+        Path file = tempDir.resolve("missing.tml");
+
+        try (FileReadinessWatcher watcher = FileReadinessWatcher.open(file)) {
+            assertThat(watcher.awaitQuiescent(QUIET_MILLIS, System.currentTimeMillis() + 300)).isFalse();
+        }
+    }
+}
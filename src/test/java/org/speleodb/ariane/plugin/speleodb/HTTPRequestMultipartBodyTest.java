@@ -2,9 +2,20 @@ package org.speleodb.ariane.plugin.speleodb;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -332,4 +343,103 @@ class HTTPRequestMultipartBodyTest {
             assertThat(boundaries).hasSize(10);
         }
     }
+
+    @Nested
+    @DisplayName("Streaming Mode")
+    class StreamingModeTests {
+
+        @Test
+        @DisplayName("Streamed bytes should match the buffered body for the same builder")
+        void streamedBytesShouldMatchBufferedBody() throws Exception {
+            Path tempFile = Files.createTempFile("stream", ".tml");
+            byte[] fileData = new byte[256 * 1024];
+            new Random(7).nextBytes(fileData);
+            Files.write(tempFile, fileData);
+
+            try {
+                HTTPRequestMultipartBody.Builder builder = new HTTPRequestMultipartBody.Builder()
+                    .addPart("message", "streamed upload")
+                    .addPart("artifact", tempFile.toFile(), null, "project.tml")
+                    .addPart("trailer", "after file");
+
+                byte[] buffered = builder.build().getBody();
+                HTTPRequestMultipartBody streaming = builder.buildStreaming();
+
+                assertThat(streaming.getContentLength()).isEqualTo(buffered.length);
+                assertThat(streaming.getBodyPublisher().contentLength()).isEqualTo(buffered.length);
+                assertThat(drain(streaming.getBodyPublisher())).isEqualTo(buffered);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        @Test
+        @DisplayName("Each getBodyPublisher() call should replay the full body")
+        void publisherShouldBeReplayable() throws Exception {
+            Path tempFile = Files.createTempFile("replay", ".bin");
+            Files.write(tempFile, "file bytes".getBytes(StandardCharsets.UTF_8));
+
+            try {
+                HTTPRequestMultipartBody body = new HTTPRequestMultipartBody.Builder()
+                    .addPart("artifact", tempFile.toFile(), "application/zip", "a.bin")
+                    .buildStreaming();
+
+                assertThat(drain(body.getBodyPublisher())).isEqualTo(drain(body.getBodyPublisher()));
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        @Test
+        @DisplayName("Text-only streaming body should be fully pre-encoded")
+        void textOnlyStreamingBody() throws Exception {
+            HTTPRequestMultipartBody body = new HTTPRequestMultipartBody.Builder()
+                .addPart("message", "hello")
+                .buildStreaming();
+
+            String bodyStr = new String(drain(body.getBodyPublisher()), StandardCharsets.UTF_8);
+            assertThat(bodyStr)
+                .startsWith("--" + body.getBoundary() + "\r\n")
+                .contains("name=\"message\"\r\n\r\nhello\r\n")
+                .endsWith("--" + body.getBoundary() + "--");
+        }
+
+        @Test
+        @DisplayName("getBody() should be unavailable for streaming bodies")
+        void getBodyShouldThrowForStreamingBodies() throws IOException {
+            HTTPRequestMultipartBody body = new HTTPRequestMultipartBody.Builder()
+                .addPart("message", "hello")
+                .buildStreaming();
+
+            assertThatThrownBy(body::getBody).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Missing file should fail at build time with the file name")
+        void missingFileShouldFailAtBuildTime() {
+            File missing = new File("does-not-exist-" + System.nanoTime() + ".tml");
+
+            assertThatThrownBy(() -> new HTTPRequestMultipartBody.Builder()
+                    .addPart("artifact", missing, null, missing.getName())
+                    .buildStreaming())
+                .isInstanceOf(IOException.class)
+                .hasRootCauseInstanceOf(java.nio.file.NoSuchFileException.class);
+        }
+
+        private byte[] drain(HttpRequest.BodyPublisher publisher) throws Exception {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CompletableFuture<byte[]> done = new CompletableFuture<>();
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription subscription) { subscription.request(Long.MAX_VALUE); }
+                @Override public void onNext(ByteBuffer item) {
+                    byte[] chunk = new byte[item.remaining()];
+                    item.get(chunk);
+                    out.writeBytes(chunk);
+                }
+                @Override public void onError(Throwable throwable) { done.completeExceptionally(throwable); }
+                @Override public void onComplete() { done.complete(out.toByteArray()); }
+            });
+            return done.get(10, TimeUnit.SECONDS);
+        }
+    }
 }
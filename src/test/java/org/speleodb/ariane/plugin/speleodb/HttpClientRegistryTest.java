@@ -0,0 +1,75 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+
+/**
+ * Unit tests for the per-origin HttpClient registry and its connection warm-up.
+ */
+@DisplayName("HTTP Client Registry Tests")
+class HttpClientRegistryTest {
+
+    @RegisterExtension
+    static final WireMockExtension wm = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @Test
+    @DisplayName("Should reduce URLs to a lower-cased origin")
+    void shouldComputeOrigin() {
+        assertThat(HttpClientRegistry.originOf("https://WWW.SpeleoDB.org/api/v2/projects/")).isEqualTo("https://www.speleodb.org");
+        assertThat(HttpClientRegistry.originOf("http://localhost:8000/api/")).isEqualTo("http://localhost:8000");
+        assertThatThrownBy(() -> HttpClientRegistry.originOf("www.speleodb.org")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should hand out one client per origin and count cached lookups")
+    void shouldReuseClientsPerOrigin() {
+        HttpClientRegistry registry = new HttpClientRegistry();
+
+        var first = registry.clientFor("https://www.speleodb.org/api/v2/announcements/");
+        var second = registry.clientFor("https://www.speleodb.org/api/v2/projects/");
+        var other = registry.clientFor("http://localhost:8000");
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(registry.clientsCreated()).isEqualTo(2);
+        assertThat(registry.cachedClientLookups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pre-connect to the origin with a HEAD request")
+    void shouldWarmUpOrigin() throws Exception {
+        wm.stubFor(head(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+        HttpClientRegistry registry = new HttpClientRegistry();
+
+        boolean warmed = registry.warmUp(wm.baseUrl() + "/api/v2/").get(5, TimeUnit.SECONDS);
+
+        assertThat(warmed).isTrue();
+        assertThat(registry.warmUps()).isEqualTo(1);
+        wm.verify(headRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    @DisplayName("Should report a failed warm-up without throwing")
+    void shouldToleratePreconnectFailure() throws Exception {
+        HttpClientRegistry registry = new HttpClientRegistry();
+
+        assertThat(registry.warmUp("not a url").get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(registry.warmUp("http://localhost:1").get(15, TimeUnit.SECONDS)).isFalse();
+        assertThat(registry.warmUps()).isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the lock-free LogRingBuffer backing the asynchronous logger.
+ */
+@DisplayName("Log Ring Buffer Tests")
+class LogRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacity() {
+        assertThat(new LogRingBuffer<String>(1).capacity()).isEqualTo(1);
+        assertThat(new LogRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new LogRingBuffer<String>(8192).capacity()).isEqualTo(8192);
+        assertThatThrownBy(() -> new LogRingBuffer<String>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should return elements in FIFO order and reject offers when full")
+    void shouldBeFifoAndBounded() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(99)).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll())).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.offeredCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should deliver every element from concurrent producers exactly once")
+    void shouldDeliverAllElementsFromConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        LogRingBuffer<long[]> buffer = new LogRingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(new long[]{producer, i})) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        start.countDown();
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // Each producer's elements must arrive in the order it offered them
+            assertThat(element[1]).isEqualTo(nextExpected[(int) element[0]]);
+            nextExpected[(int) element[0]]++;
+            received++;
+        }
+
+        for (Thread t : threads) {
+            t.join(5000);
+        }
+        assertThat(received).isEqualTo(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
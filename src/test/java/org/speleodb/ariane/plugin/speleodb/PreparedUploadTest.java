@@ -0,0 +1,85 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for PreparedUpload single-pass staging.
+ */
+@DisplayName("Prepared Upload Tests")
+class PreparedUploadTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should copy, hash and count entries of a valid ZIP")
+    void shouldStageValidZip() throws IOException {
+        Path source = createZip("source.tml", 3);
+        Path target = tempDir.resolve("staged").resolve("project.tml");
+
+        PreparedUpload prepared = PreparedUpload.stage(source, target);
+
+        assertThat(prepared.getFile()).isEqualTo(target);
+        assertThat(Files.mismatch(source, target)).isEqualTo(-1L);
+        assertThat(prepared.getSize()).isEqualTo(Files.size(source));
+        assertThat(prepared.getEntryCount()).isEqualTo(3);
+        assertThat(prepared.getSha256()).isEqualTo(SpeleoDBService.calculateSHA256(Files.readAllBytes(source)));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated ZIP and keep previously staged file")
+    void shouldRejectTruncatedZip() throws IOException {
+        Path target = tempDir.resolve("project.tml");
+        Files.writeString(target, "previous");
+
+        Path source = createZip("truncated.tml", 2);
+        try (RandomAccessFile raf = new RandomAccessFile(source.toFile(), "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+
+        assertThatThrownBy(() -> PreparedUpload.stage(source, target))
+            .isInstanceOf(ZipException.class);
+        assertThat(Files.readString(target)).isEqualTo("previous");
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.filter(p -> p.toString().endsWith(SpeleoDBConstants.PATHS.UPLOAD_STAGING_FILE_EXTENSION)))
+                .as("Staging temp file should be cleaned up")
+                .isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject empty file")
+    void shouldRejectEmptyFile() throws IOException {
+        Path source = Files.createFile(tempDir.resolve("empty.tml"));
+
+        assertThatThrownBy(() -> PreparedUpload.stage(source, tempDir.resolve("project.tml")))
+            .isInstanceOf(ZipException.class);
+    }
+
+    private Path createZip(String name, int entries) throws IOException {
+        Path zip = tempDir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(zip);
+             ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries; i++) {
+                zos.putNextEntry(new ZipEntry("entry" + i + ".xml"));
+                zos.write(("<tml id=\"" + i + "\"/>").repeat(100).getBytes());
+                zos.closeEntry();
+            }
+        }
+        return zip;
+    }
+}
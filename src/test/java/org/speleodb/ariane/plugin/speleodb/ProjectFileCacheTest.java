@@ -0,0 +1,124 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+/**
+ * Unit tests for ProjectFileCache revision/digest validation.
+ */
+@DisplayName("Project File Cache Tests")
+class ProjectFileCacheTest {
+
+    private static final String PROJECT_ID = "cache-test";
+
+    @TempDir
+    Path tempDir;
+
+    private ProjectFileCache cache;
+    private Path tmlFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new ProjectFileCache(tempDir);
+        tmlFile = tempDir.resolve(PROJECT_ID + PATHS.TML_FILE_EXTENSION);
+        Files.writeString(tmlFile, "downloaded content");
+    }
+
+    @Test
+    @DisplayName("Should return the local file when revision and content are unchanged")
+    void shouldHitForUnchangedRevision() {
+        cache.record(project("2026-10-01T10:00:00"), tmlFile);
+
+        assertThat(cache.lookup(project("2026-10-01T10:00:00"))).contains(tmlFile);
+    }
+
+    @Test
+    @DisplayName("Should miss when the server revision changed")
+    void shouldMissForNewRevision() {
+        cache.record(project("2026-10-01T10:00:00"), tmlFile);
+
+        assertThat(cache.lookup(project("2026-10-02T08:30:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should miss when the local file was modified after download")
+    void shouldMissForLocalEdits() throws IOException {
+        cache.record(project("2026-10-01T10:00:00"), tmlFile);
+        Files.writeString(tmlFile, "edited locally");
+
+        assertThat(cache.lookup(project("2026-10-01T10:00:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should miss when the listing carries no modified_date")
+    void shouldMissWithoutRevision() {
+        JsonObject noRevision = Json.createObjectBuilder().add("id", PROJECT_ID).build();
+        cache.record(noRevision, tmlFile);
+
+        assertThat(cache.lookup(noRevision)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the download validators only while the local file is untouched")
+    void shouldKeepValidatorsForUntouchedFile() throws IOException {
+        cache.record(project("2026-10-01T10:00:00"), tmlFile,
+                new ProjectFileCache.Validators(Optional.of("\"rev-1\""), Optional.empty()));
+
+        assertThat(cache.validators(PROJECT_ID)).hasValueSatisfying(v -> assertThat(v.etag()).contains("\"rev-1\""));
+
+        Files.writeString(tmlFile, "edited locally");
+
+        assertThat(cache.validators(PROJECT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should miss after invalidation")
+    void shouldMissAfterInvalidate() {
+        cache.record(project("2026-10-01T10:00:00"), tmlFile);
+        cache.invalidate(PROJECT_ID);
+
+        assertThat(cache.lookup(project("2026-10-01T10:00:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand out the local copy offline whatever its revision")
+    void shouldReturnLocalCopyOffline() throws IOException {
+        Files.writeString(tmlFile, "edited locally");
+
+        assertThat(cache.localCopy(PROJECT_ID)).contains(tmlFile);
+        assertThat(cache.localCopy("never-downloaded")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should save and reload the project listing per instance")
+    void shouldRoundTripListing() {
+        JsonArray listing = Json.createArrayBuilder().add(project("2026-10-01T10:00:00")).build();
+
+        cache.saveListing("https://www.speleodb.org", listing);
+
+        assertThat(cache.loadListing("https://WWW.speleodb.org/")).contains(listing);
+        assertThat(cache.loadListing("http://localhost:8000")).isEmpty();
+    }
+
+    private static JsonObject project(String modifiedDate) {
+        return Json.createObjectBuilder()
+                .add("id", PROJECT_ID)
+                .add("name", "Cache Cave")
+                .add("modified_date", modifiedDate)
+                .build();
+    }
+}
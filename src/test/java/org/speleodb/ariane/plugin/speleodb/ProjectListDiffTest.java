@@ -0,0 +1,87 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * Unit tests for the incremental project list update used by the project listing.
+ */
+@DisplayName("Project List Diff Tests")
+class ProjectListDiffTest {
+
+    @Test
+    @DisplayName("Should not touch an unchanged listing")
+    void shouldNotTouchUnchangedListing() {
+        List<JsonObject> current = new ArrayList<>(List.of(project("a", null), project("b", null)));
+        JsonObject firstRow = current.get(0);
+
+        int operations = apply(current, List.of(project("a", null), project("b", null)));
+
+        assertThat(operations).isZero();
+        assertThat(current.get(0)).isSameAs(firstRow);
+    }
+
+    @Test
+    @DisplayName("Should replace only the row whose lock changed")
+    void shouldReplaceChangedRowOnly() {
+        List<JsonObject> current = new ArrayList<>(List.of(project("a", null), project("b", null), project("c", null)));
+        JsonObject firstRow = current.get(0);
+        JsonObject lastRow = current.get(2);
+        List<JsonObject> target = List.of(project("a", null), project("b", "alice"), project("c", null));
+
+        int operations = apply(current, target);
+
+        assertThat(operations).isEqualTo(1);
+        assertThat(current).isEqualTo(target);
+        assertThat(current.get(0)).isSameAs(firstRow);
+        assertThat(current.get(2)).isSameAs(lastRow);
+    }
+
+    @Test
+    @DisplayName("Should apply insertions and removals at their positions")
+    void shouldApplyInsertionsAndRemovals() {
+        List<JsonObject> current = new ArrayList<>(List.of(project("a", null), project("b", null), project("d", null)));
+        List<JsonObject> target = List.of(project("a", null), project("c", null), project("d", null), project("e", null));
+
+        int operations = apply(current, target);
+
+        assertThat(operations).isEqualTo(3);
+        assertThat(current).isEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("Should move a row whose sort position changed")
+    void shouldMoveReorderedRow() {
+        List<JsonObject> current = new ArrayList<>(List.of(project("a", null), project("b", null), project("c", null)));
+        List<JsonObject> target = List.of(project("c", "bob"), project("a", null), project("b", null));
+
+        apply(current, target);
+
+        assertThat(current).isEqualTo(target);
+    }
+
+    private static int apply(List<JsonObject> current, List<JsonObject> target) {
+        return ProjectListDiff.apply(current, target, project -> project.getString("id"));
+    }
+
+    private static JsonObject project(String id, String lockOwner) {
+        var builder = Json.createObjectBuilder()
+                .add("id", id)
+                .add("name", "Project " + id)
+                .add("permission", "ADMIN");
+        if (lockOwner == null) {
+            builder.addNull("active_mutex");
+        } else {
+            builder.add("active_mutex", Json.createObjectBuilder().add("user", lockOwner));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,143 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * Unit tests for ProjectLockHeartbeat scheduling, backoff and lock-lost reporting.
+ * Intervals are shrunk to milliseconds so each test runs in well under a second.
+ */
+@DisplayName("Project Lock Heartbeat Tests")
+class ProjectLockHeartbeatTest {
+
+    private final JsonObject project = Json.createObjectBuilder()
+            .add("id", "heartbeat-test")
+            .add("name", "Heartbeat Cave")
+            .build();
+
+    private final AtomicReference<JsonObject> heldProject = new AtomicReference<>();
+    private final AtomicInteger lockLostCount = new AtomicInteger();
+
+    private ProjectLockHeartbeat heartbeat;
+
+    @BeforeEach
+    void holdProject() {
+        heldProject.set(project);
+    }
+
+    @AfterEach
+    void shutdownHeartbeat() {
+        if (heartbeat != null) {
+            heartbeat.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refresh the held lock repeatedly while it is granted")
+    void shouldRefreshPeriodically() throws Exception {
+        CountDownLatch refreshes = new CountDownLatch(3);
+        heartbeat = newHeartbeat(p -> {
+            refreshes.countDown();
+            return true;
+        });
+
+        heartbeat.start();
+
+        assertThat(refreshes.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(heartbeat.isRunning()).isTrue();
+        assertThat(lockLostCount).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should report a refused refresh once and stop beating")
+    void shouldReportLockLostAndStop() throws Exception {
+        CountDownLatch lost = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        heartbeat = new ProjectLockHeartbeat(heldProject::get, p -> {
+            calls.incrementAndGet();
+            return false;
+        }, p -> {
+            lockLostCount.incrementAndGet();
+            lost.countDown();
+        }, 10, 5, 20);
+
+        heartbeat.start();
+
+        assertThat(lost.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(calls).hasValue(1);
+        assertThat(lockLostCount).hasValue(1);
+        assertThat(heartbeat.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should retry network failures without reporting the lock as lost")
+    void shouldRetryNetworkFailures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch recovered = new CountDownLatch(1);
+        heartbeat = newHeartbeat(p -> {
+            if (calls.incrementAndGet() <= 3) {
+                throw new IOException("Connection refused");
+            }
+            recovered.countDown();
+            return true;
+        });
+
+        heartbeat.start();
+
+        assertThat(recovered.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(lockLostCount).hasValue(0);
+        assertThat(heartbeat.isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should go idle without a request once the lock is released")
+    void shouldIdleWhenNoProjectHeld() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        heartbeat = newHeartbeat(p -> {
+            calls.incrementAndGet();
+            return true;
+        });
+        heldProject.set(null);
+
+        heartbeat.start();
+        Thread.sleep(100);
+
+        assertThat(calls).hasValue(0);
+        assertThat(heartbeat.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop refreshing after stop()")
+    void shouldStopRefreshing() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        heartbeat = newHeartbeat(p -> {
+            calls.incrementAndGet();
+            return true;
+        });
+
+        heartbeat.start();
+        heartbeat.stop();
+        Thread.sleep(100);
+
+        assertThat(calls).hasValue(0);
+        assertThat(heartbeat.isRunning()).isFalse();
+    }
+
+    private ProjectLockHeartbeat newHeartbeat(ProjectLockHeartbeat.LockRefresher refresher) {
+        return new ProjectLockHeartbeat(heldProject::get, refresher, p -> lockLostCount.incrementAndGet(), 10, 5, 20);
+    }
+}
@@ -0,0 +1,101 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.Json;
+
+/**
+ * Unit tests for the in-memory project search index behind the project search box.
+ */
+@DisplayName("Project Search Index Tests")
+class ProjectSearchIndexTest {
+
+    private final List<ProjectSummary> projects = List.of(
+            project("1", "Grotte Alpha", "ADMIN", null),
+            project("2", "Sistema Ox Bel Ha", "READ_ONLY", "alice@example.com"),
+            project("3", "Gouffre de l'Élan", "READ_AND_WRITE", "bob"),
+            project("4", "Alpha Resurgence", "READ_ONLY", null));
+
+    @Test
+    @DisplayName("Should show every project for a blank query")
+    void shouldShowAllForBlankQuery() {
+        ProjectSearchIndex index = new ProjectSearchIndex(projects);
+
+        assertThat(index.filter("")).isNull();
+        assertThat(index.filter("   ")).isNull();
+        assertThat(index.filter(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should match name token prefixes case- and accent-insensitively")
+    void shouldMatchNameTokenPrefixes() {
+        ProjectSearchIndex index = new ProjectSearchIndex(projects);
+
+        assertThat(ids(index, "alp")).containsExactly("1", "4");
+        assertThat(ids(index, "gro ALP")).containsExactly("1");
+        assertThat(ids(index, "elan")).containsExactly("3");
+        assertThat(ids(index, "rotte")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match permission and lock owner")
+    void shouldMatchPermissionAndLockOwner() {
+        ProjectSearchIndex index = new ProjectSearchIndex(projects);
+
+        assertThat(ids(index, "read only")).containsExactly("2", "4");
+        assertThat(ids(index, "alice")).containsExactly("2");
+        assertThat(ids(index, "bob write")).containsExactly("3");
+    }
+
+    @Test
+    @DisplayName("Should give the same results when narrowing incrementally as when searching afresh")
+    void shouldNarrowIncrementally() {
+        List<ProjectSummary> many = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            many.add(project(String.valueOf(i), "Cave " + i + (i % 3 == 0 ? " Alpha" : " Beta"), "ADMIN", i % 5 == 0 ? "carol" : null));
+        }
+        ProjectSearchIndex typing = new ProjectSearchIndex(many);
+
+        String query = "cave 1 alpha car";
+        for (int length = 1; length <= query.length(); length++) {
+            String prefix = query.substring(0, length);
+            assertThat(ids(typing, prefix, many)).isEqualTo(ids(new ProjectSearchIndex(many), prefix, many));
+        }
+        assertThat(ids(typing, query, many)).isNotEmpty().allSatisfy(id -> assertThat(Integer.parseInt(id) % 15).isZero());
+    }
+
+    private List<String> ids(ProjectSearchIndex index, String query) {
+        return ids(index, query, projects);
+    }
+
+    private static List<String> ids(ProjectSearchIndex index, String query, List<ProjectSummary> projects) {
+        Predicate<ProjectSummary> filter = index.filter(query);
+        return projects.stream()
+                .filter(project -> filter == null || filter.test(project))
+                .map(ProjectSummary::id)
+                .toList();
+    }
+
+    private static ProjectSummary project(String id, String name, String permission, String lockOwner) {
+        var builder = Json.createObjectBuilder()
+                .add("id", id)
+                .add("name", name)
+                .add("permission", permission);
+        if (lockOwner == null) {
+            builder.addNull("active_mutex");
+        } else {
+            builder.add("active_mutex", Json.createObjectBuilder()
+                    .add("user", lockOwner)
+                    .add("creation_date", "2024-01-20T10:15:30.123456")
+                    .add("modified_date", "2024-01-20T14:45:00.123456"));
+        }
+        return ProjectSummary.of(builder.build());
+    }
+}
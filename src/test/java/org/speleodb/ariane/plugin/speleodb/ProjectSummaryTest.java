@@ -0,0 +1,91 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.AccessLevel;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.SortMode;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * Unit tests for the parsed project model behind the project list.
+ */
+@DisplayName("Project Summary Tests")
+class ProjectSummaryTest {
+
+    @Test
+    @DisplayName("Should precompute keys, access level and lock labels")
+    void shouldParseListingEntry() {
+        ProjectSummary project = ProjectSummary.of(project("1", "Grotte Alpha", "2025-01-01T10:00:00.000000-05:00", "alice"));
+
+        assertThat(project.id()).isEqualTo("1");
+        assertThat(project.nameKey()).isEqualTo("grotte alpha");
+        assertThat(project.accessLevel()).isEqualTo(AccessLevel.READ_AND_WRITE);
+        assertThat(project.modified()).isEqualTo(Instant.parse("2025-01-01T15:00:00Z"));
+        assertThat(project.isLocked()).isTrue();
+        assertThat(project.lockOwner()).isEqualTo("alice");
+        assertThat(project.lockCreatedLabel()).isNotBlank().doesNotContain("T10:15");
+        assertThat(project.lockModifiedLabel()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should leave unlocked projects without lock labels")
+    void shouldHandleUnlockedProject() {
+        ProjectSummary project = ProjectSummary.of(project("2", "Beta", "2025-01-01T10:00:00.000000-05:00", null));
+
+        assertThat(project.isLocked()).isFalse();
+        assertThat(project.lockOwner()).isNull();
+        assertThat(project.lockCreatedLabel()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should sort by name case-insensitively and by date newest first")
+    void shouldSortWithPrecomputedKeys() {
+        List<ProjectSummary> projects = new ArrayList<>(List.of(
+                ProjectSummary.of(project("1", "charlie", "2024-06-01T00:00:00.000000+00:00", null)),
+                ProjectSummary.of(project("2", "Alpha", "2025-03-01T00:00:00.000000+00:00", null)),
+                ProjectSummary.of(project("3", "bravo", null, null))));
+
+        projects.sort(ProjectSummary.comparator(SortMode.BY_NAME));
+        assertThat(projects).extracting(ProjectSummary::id).containsExactly("2", "3", "1");
+
+        projects.sort(ProjectSummary.comparator(SortMode.BY_DATE));
+        assertThat(projects).extracting(ProjectSummary::id).containsExactly("2", "1", "3");
+    }
+
+    @Test
+    @DisplayName("Should be equal exactly when the listing data is equal")
+    void shouldCompareByListingData() {
+        JsonObject json = project("1", "Alpha", "2025-01-01T10:00:00.000000-05:00", null);
+
+        assertThat(ProjectSummary.of(json)).isEqualTo(ProjectSummary.of(json));
+        assertThat(ProjectSummary.of(json))
+                .isNotEqualTo(ProjectSummary.of(project("1", "Alpha", "2025-01-01T10:00:00.000000-05:00", "bob")));
+    }
+
+    private static JsonObject project(String id, String name, String modifiedDate, String lockOwner) {
+        var builder = Json.createObjectBuilder()
+                .add("id", id)
+                .add("name", name)
+                .add("permission", "READ_AND_WRITE");
+        if (modifiedDate != null) {
+            builder.add("modified_date", modifiedDate);
+        }
+        if (lockOwner == null) {
+            builder.addNull("active_mutex");
+        } else {
+            builder.add("active_mutex", Json.createObjectBuilder()
+                    .add("user", lockOwner)
+                    .add("creation_date", "2024-01-20T10:15:30.123456")
+                    .add("modified_date", "2024-01-20T14:45:00.123456"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,163 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+/**
+ * Unit tests for the retry layer of idempotent SpeleoDB calls: retryable statuses,
+ * network errors, {@code Retry-After} and the retry budget.
+ */
+@DisplayName("Retry Policy Tests")
+class RetryPolicyTest {
+
+    private static final String PATH = "/api/v2/projects/";
+
+    @RegisterExtension
+    static final WireMockExtension wm = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @BeforeEach
+    void resetWireMock() {
+        wm.resetAll();
+        sleeps.clear();
+    }
+
+    @Test
+    @DisplayName("Should retry a 503 and return the eventual success")
+    void shouldRetryTransientStatus() throws Exception {
+        stubSequence(aResponse().withStatus(503), aResponse().withStatus(200).withBody("ok"));
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, sleeps::add);
+
+        HttpResponse<String> response = policy.send("Test", this::request, this::sendString);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("ok");
+        assertThat(sleeps).singleElement().satisfies(delay -> assertThat(delay).isBetween(80L, 120L));
+        wm.verify(2, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    @Test
+    @DisplayName("Should not retry a 500 or a client error")
+    void shouldNotRetryNonTransientStatus() throws Exception {
+        wm.stubFor(get(urlEqualTo(PATH)).willReturn(aResponse().withStatus(500)));
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, sleeps::add);
+
+        HttpResponse<String> response = policy.send("Test", this::request, this::sendString);
+
+        assertThat(response.statusCode()).isEqualTo(500);
+        assertThat(sleeps).isEmpty();
+        wm.verify(1, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    @Test
+    @DisplayName("Should return the last response once attempts run out, backing off exponentially")
+    void shouldGiveUpAfterMaxAttempts() throws Exception {
+        wm.stubFor(get(urlEqualTo(PATH)).willReturn(aResponse().withStatus(502)));
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, sleeps::add);
+
+        HttpResponse<String> response = policy.send("Test", this::request, this::sendString);
+
+        assertThat(response.statusCode()).isEqualTo(502);
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(80L, 120L);
+        assertThat(sleeps.get(1)).isBetween(160L, 240L);
+        wm.verify(3, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    @Test
+    @DisplayName("Should wait for Retry-After and give up when it is too long")
+    void shouldHonorRetryAfter() throws Exception {
+        stubSequence(aResponse().withStatus(429).withHeader("Retry-After", "2"), aResponse().withStatus(200));
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, sleeps::add);
+
+        assertThat(policy.send("Test", this::request, this::sendString).statusCode())
+                .isEqualTo(200);
+        assertThat(sleeps).containsExactly(2000L);
+
+        wm.resetAll();
+        sleeps.clear();
+        wm.stubFor(get(urlEqualTo(PATH)).willReturn(aResponse().withStatus(503).withHeader("Retry-After", "3600")));
+
+        assertThat(policy.send("Test", this::request, this::sendString).statusCode())
+                .isEqualTo(503);
+        assertThat(sleeps).isEmpty();
+        wm.verify(1, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    @Test
+    @DisplayName("Should retry network errors accepted by the predicate only")
+    void shouldRetryNetworkErrors() throws Exception {
+        stubSequence(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER), aResponse().withStatus(200));
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, sleeps::add);
+
+        assertThat(policy.send("Test", this::request, this::sendString).statusCode())
+                .isEqualTo(200);
+        assertThat(sleeps).hasSize(1);
+
+        wm.resetAll();
+        sleeps.clear();
+        wm.stubFor(get(urlEqualTo(PATH)).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        assertThatThrownBy(() -> policy.send("Test", this::request, this::sendString, error -> false))
+                .isInstanceOf(IOException.class);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    void shouldRespectRetryBudget() throws Exception {
+        wm.stubFor(get(urlEqualTo(PATH)).willReturn(aResponse().withStatus(503)));
+        RetryPolicy policy = new RetryPolicy(3, 1, 1, sleeps::add);
+
+        for (int call = 0; call < 10; call++) {
+            policy.send("Test", this::request, this::sendString);
+        }
+
+        // Ten tokens: five calls retry twice, the rest fail on their first attempt
+        assertThat(sleeps).hasSize(10);
+        assertThat(policy.remainingBudget()).isLessThan(1);
+        wm.verify(20, getRequestedFor(urlEqualTo(PATH)));
+    }
+
+    private HttpResponse<String> sendString(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create(wm.baseUrl() + PATH)).GET().build();
+    }
+
+    private static void stubSequence(ResponseDefinitionBuilder first, ResponseDefinitionBuilder second) {
+        wm.stubFor(get(urlEqualTo(PATH)).inScenario("retry").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(first).willSetStateTo("recovered"));
+        wm.stubFor(get(urlEqualTo(PATH)).inScenario("retry").whenScenarioStateIs("recovered")
+                .willReturn(second));
+    }
+}
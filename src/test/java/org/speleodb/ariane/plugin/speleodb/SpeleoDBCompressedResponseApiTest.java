@@ -0,0 +1,112 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+/**
+ * WireMock-driven tests for gzip-encoded JSON responses: the service advertises gzip and
+ * decodes both the buffered and the streamed response bodies.
+ */
+@DisplayName("SpeleoDBService compressed responses")
+class SpeleoDBCompressedResponseApiTest extends AbstractSpeleoDBServiceWireMockTest {
+
+    @BeforeEach
+    void authenticate() throws Exception {
+        authenticateAgainstWireMock();
+    }
+
+    @Test
+    @DisplayName("JSON requests advertise gzip")
+    void advertisesGzip() throws Exception {
+        stubV2Array(get(urlEqualTo(API.PROJECTS_ENDPOINT)), Json.createArrayBuilder().build());
+
+        service.listProjects();
+
+        wm.verify(getTo(API.PROJECTS_ENDPOINT).withHeader(HEADERS.ACCEPT_ENCODING, equalTo(HEADERS.GZIP)));
+    }
+
+    @Test
+    @DisplayName("Streamed project listing is inflated while parsed")
+    void decodesGzipListing() throws Exception {
+        JsonArray body = Json.createArrayBuilder()
+                .add(arianeProject("kept-1"))
+                .add(arianeProject("kept-2"))
+                .build();
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT)).willReturn(gzipJson(200, body.toString())));
+
+        JsonArray result = service.listProjects();
+
+        assertThat(result).extracting(p -> ((JsonObject) p).getString("id")).containsExactly("kept-1", "kept-2");
+    }
+
+    @Test
+    @DisplayName("Buffered announcements response is inflated before parsing")
+    void decodesGzipAnnouncements() throws Exception {
+        JsonArray body = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder()
+                        .add("title", "Grotte fermée")
+                        .add("message", "msg")
+                        .add("is_active", true)
+                        .add("software", "ARIANE"))
+                .build();
+        wm.stubFor(get(urlEqualTo(API.ANNOUNCEMENTS_ENDPOINT)).willReturn(gzipJson(200, body.toString())));
+
+        JsonArray result = service.fetchAnnouncements(instanceUrl());
+
+        assertThat(result).extracting(a -> ((JsonObject) a).getString("title")).containsExactly("Grotte fermée");
+    }
+
+    @Test
+    @DisplayName("Error details are read from a gzip error body")
+    void decodesGzipErrorBody() throws Exception {
+        String body = Json.createObjectBuilder().add("error", "compressed-detail").build().toString();
+        wm.stubFor(get(urlEqualTo(API.ANNOUNCEMENTS_ENDPOINT)).willReturn(gzipJson(503, body)));
+
+        assertThatThrownBy(() -> service.fetchAnnouncements(instanceUrl()))
+                .hasMessageContaining(MESSAGES.ANNOUNCEMENTS_FETCH_FAILED_STATUS)
+                .hasMessageContaining("compressed-detail");
+    }
+
+    private static ResponseDefinitionBuilder gzipJson(int status, String json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return aResponse()
+                .withStatus(status)
+                .withHeader(HEADERS.CONTENT_TYPE, "application/json; charset=utf-8")
+                .withHeader(HEADERS.CONTENT_ENCODING, HEADERS.GZIP)
+                .withBody(compressed.toByteArray());
+    }
+
+    private static JsonObject arianeProject(String id) {
+        return Json.createObjectBuilder()
+                .add("id", id)
+                .add("name", "Project " + id)
+                .add("type", "ARIANE")
+                .add("permission", "READ_AND_WRITE")
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * WireMock-driven tests for the connectivity listener: only the instance signed in to
+ * switches the UI offline, not any other host the service talks to.
+ */
+@DisplayName("SpeleoDBService connectivity listener")
+class SpeleoDBConnectivityApiTest extends AbstractSpeleoDBServiceWireMockTest {
+
+    /** Loopback port nothing listens on, so connecting fails at once. */
+    private static final String UNREACHABLE_HOST = "localhost:1";
+
+    private final List<Boolean> transitions = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void listen() throws Exception {
+        authenticateAgainstWireMock();
+        service.setConnectivityListener(transitions::add);
+    }
+
+    @AfterEach
+    void stopProbes() {
+        service.shutdownConnectivityProbes();
+    }
+
+    @Test
+    @DisplayName("An unreachable other host does not report the instance offline")
+    void ignoresOtherOrigins() {
+        for (int i = 0; i < SpeleoDBConstants.NETWORK.CIRCUIT_BREAKER_FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> service.fetchAnnouncements(UNREACHABLE_HOST)).isInstanceOf(Exception.class);
+        }
+
+        assertThat(transitions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The instance in use going offline is reported")
+    void reportsSessionOrigin() {
+        service.goOffline(instanceUrl());
+
+        assertThat(transitions).containsExactly(false);
+    }
+}
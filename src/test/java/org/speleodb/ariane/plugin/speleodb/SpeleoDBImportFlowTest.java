@@ -113,7 +113,7 @@ class SpeleoDBImportFlowTest {
 
         SpeleoDBService fakeService = new SpeleoDBService(controller) {
             @Override
-            public void uploadProject(String message, jakarta.json.JsonObject project) {
+            public void uploadProject(String message, jakarta.json.JsonObject project, PreparedUpload prepared) {
                 stage.compareAndSet(1, 2);
                 uploadLatch.countDown();
             }
@@ -164,7 +164,7 @@ class SpeleoDBImportFlowTest {
 
         SpeleoDBService trackingService = new SpeleoDBService(controller) {
             @Override
-            public void uploadProject(String message, jakarta.json.JsonObject project) {
+            public void uploadProject(String message, jakarta.json.JsonObject project, PreparedUpload prepared) {
                 uploadCallCount.incrementAndGet();
             }
         };
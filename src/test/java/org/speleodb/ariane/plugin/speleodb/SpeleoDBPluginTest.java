@@ -7,6 +7,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.AfterEach;
@@ -148,6 +149,30 @@ class SpeleoDBPluginTest {
 
             assertThat(plugin.getSurvey()).isNull();
         }
+
+        @Test
+        @DisplayName("Should complete the armed load future on the next non-null survey")
+        void shouldCompleteLoadFutureOnNextSurvey() {
+            CompletableFuture<CaveSurveyInterface> loaded = plugin.awaitNextSurveyLoad();
+
+            plugin.setSurvey(null);
+            assertThat(loaded).isNotDone();
+
+            plugin.setSurvey(mockSurvey);
+            assertThat(loaded).isCompletedWithValue(mockSurvey);
+        }
+
+        @Test
+        @DisplayName("Should cancel a superseded load future")
+        void shouldCancelSupersededLoadFuture() {
+            CompletableFuture<CaveSurveyInterface> first = plugin.awaitNextSurveyLoad();
+            CompletableFuture<CaveSurveyInterface> second = plugin.awaitNextSurveyLoad();
+
+            plugin.setSurvey(mockSurvey);
+
+            assertThat(first).isCancelled();
+            assertThat(second).isCompletedWithValue(mockSurvey);
+        }
     }
 
     @Nested
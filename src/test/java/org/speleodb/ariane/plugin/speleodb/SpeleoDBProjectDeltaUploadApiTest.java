@@ -0,0 +1,164 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * WireMock-driven tests for delta uploads: WireMock stands in for an instance that
+ * accepts, does not know, or cannot apply the delta endpoint. Also covers the local
+ * not-modified check that shares the recorded revision.
+ */
+@DisplayName("SpeleoDBService delta uploads")
+class SpeleoDBProjectDeltaUploadApiTest extends AbstractSpeleoDBServiceWireMockTest {
+
+    private static final String LARGE_SECTION = "<shot/>".repeat(2000);
+    /** Fixed entry time, so staging the same survey twice yields byte-identical archives. */
+    private static final long ENTRY_TIME = 1_700_000_000_000L;
+
+    private String projectId;
+    private JsonObject project;
+    private String uploadPath;
+    private String deltaPath;
+    private Path tmlFile;
+
+    @BeforeEach
+    void uploadBaseRevision() throws Exception {
+        authenticateAgainstWireMock();
+        projectId = "delta-test-" + UUID.randomUUID();
+        project = Json.createObjectBuilder().add("id", projectId).add("name", "Delta Cave").build();
+        uploadPath = API.PROJECTS_ENDPOINT + projectId + API.UPLOAD_ARIANE_TML_PATH;
+        deltaPath = API.PROJECTS_ENDPOINT + projectId + API.UPLOAD_ARIANE_TML_DELTA_PATH;
+        tmlFile = projectDir.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+
+        // No manifest yet: the first upload is a full one and becomes the delta base
+        wm.stubFor(put(urlEqualTo(uploadPath)).willReturn(aResponse().withStatus(200)));
+        service.uploadProject("Base revision", project, stage("<survey>first</survey>"));
+        wm.resetRequests();
+    }
+
+    @Test
+    @DisplayName("Sends only the changed entries with the base and target digests")
+    void sendsDeltaWhenAccepted() throws Exception {
+        String baseSha = SpeleoDBService.calculateSHA256(tmlFile);
+        wm.stubFor(put(urlEqualTo(deltaPath)).willReturn(aResponse().withStatus(200)));
+
+        PreparedUpload edited = stage("<survey>second</survey>");
+        service.uploadProject("Edit one section", project, edited);
+
+        wm.verify(putRequestedFor(urlEqualTo(deltaPath))
+                .withRequestBody(containing("name=\"base_sha256\""))
+                .withRequestBody(containing(baseSha))
+                .withRequestBody(containing(edited.getSha256()))
+                .withRequestBody(containing("Edit one section"))
+                .withRequestBody(containing(projectId + PATHS.UPLOAD_DELTA_FILE_EXTENSION)));
+        wm.verify(0, putRequestedFor(urlEqualTo(uploadPath)));
+        assertDeltaFileRemoved();
+    }
+
+    @Test
+    @DisplayName("Async upload sends the delta too and records the new base")
+    void sendsDeltaAsync() throws Exception {
+        wm.stubFor(put(urlEqualTo(deltaPath)).willReturn(aResponse().withStatus(200)));
+        PreparedUpload edited = stage("<survey>second</survey>");
+
+        service.uploadProjectAsync("Edit one section", project, edited).get(5, TimeUnit.SECONDS);
+
+        wm.verify(1, putRequestedFor(urlEqualTo(deltaPath)));
+        wm.verify(0, putRequestedFor(urlEqualTo(uploadPath)));
+        assertThat(service.isUnchangedSinceLastSync(project, edited)).isTrue();
+        assertDeltaFileRemoved();
+    }
+
+    @Test
+    @DisplayName("Falls back to a full upload, and stops trying, when the instance has no delta endpoint")
+    void fallsBackWhenUnsupported() throws Exception {
+        wm.stubFor(put(urlEqualTo(deltaPath)).willReturn(aResponse().withStatus(404)));
+
+        service.uploadProject("Edit one section", project, stage("<survey>second</survey>"));
+        service.uploadProject("Edit it again", project, stage("<survey>third</survey>"));
+
+        wm.verify(1, putRequestedFor(urlEqualTo(deltaPath)));
+        wm.verify(2, putRequestedFor(urlEqualTo(uploadPath)));
+        assertDeltaFileRemoved();
+    }
+
+    @Test
+    @DisplayName("Falls back to a full upload when the server holds another revision")
+    void fallsBackOnBaseMismatch() throws Exception {
+        wm.stubFor(put(urlEqualTo(deltaPath)).willReturn(aResponse().withStatus(409)));
+
+        service.uploadProject("Edit one section", project, stage("<survey>second</survey>"));
+
+        wm.verify(1, putRequestedFor(urlEqualTo(deltaPath)));
+        wm.verify(1, putRequestedFor(urlEqualTo(uploadPath)));
+    }
+
+    @Test
+    @DisplayName("Recognizes the last uploaded bytes without a request")
+    void detectsUnchangedUpload() throws Exception {
+        assertThat(service.isUnchangedSinceLastSync(project, stage("<survey>first</survey>"))).isTrue();
+        assertThat(service.isUnchangedSinceLastSync(project, stage("<survey>second</survey>"))).isFalse();
+        wm.verify(0, putRequestedFor(urlEqualTo(uploadPath)));
+    }
+
+    @Test
+    @DisplayName("Records the staged bytes as synced when the server answers 304")
+    void recordsNotModifiedAsSynced() throws Exception {
+        wm.stubFor(put(urlEqualTo(deltaPath)).willReturn(aResponse().withStatus(404)));
+        wm.stubFor(put(urlEqualTo(uploadPath)).willReturn(aResponse().withStatus(304)));
+        PreparedUpload edited = stage("<survey>edited elsewhere</survey>");
+
+        assertThatThrownBy(() -> service.uploadProject("Same as server", project, edited))
+                .isInstanceOf(NotModifiedException.class);
+
+        assertThat(service.isUnchangedSinceLastSync(project, edited)).isTrue();
+    }
+
+    /**
+     * Writes a TML whose large, unchanged section dwarfs the small edited one.
+     */
+    private PreparedUpload stage(String survey) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(tmlFile))) {
+            out.putNextEntry(entry("Data.xml"));
+            out.write(survey.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(entry("Stations.xml"));
+            out.write(LARGE_SECTION.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return new PreparedUpload(tmlFile, SpeleoDBService.calculateSHA256(tmlFile), Files.size(tmlFile), 2);
+    }
+
+    private static ZipEntry entry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(ENTRY_TIME);
+        return entry;
+    }
+
+    private void assertDeltaFileRemoved() {
+        assertThat(tmlFile.resolveSibling(projectId + PATHS.UPLOAD_DELTA_FILE_EXTENSION)).doesNotExist();
+    }
+}
@@ -1,6 +1,8 @@
 package org.speleodb.ariane.plugin.speleodb;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -9,11 +11,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
 
@@ -31,8 +35,8 @@ import jakarta.json.JsonObject;
 
 /**
  * WireMock-driven tests for {@link SpeleoDBService#downloadProject(JsonObject)}.
- * Covers the auth guard, the 200 binary write, the 422-empty-template path, and every
- * non-200/422 failure status against every error envelope (with the byte-body UTF-8 decode).
+ * Covers the auth guard, the streamed 200 write (temp file + atomic move), the conditional re-download of an
+ * untouched local copy, the 422-empty-template path, and every non-200/422 failure status against every error envelope (with the byte-body UTF-8 decode).
  */
 @DisplayName("SpeleoDBService.downloadProject(...)")
 class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest {
@@ -48,14 +52,7 @@ class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest
         projectId = "download-test-" + UUID.randomUUID();
         project = Json.createObjectBuilder().add("id", projectId).add("name", "Download Cave").build();
         downloadPath = API.PROJECTS_ENDPOINT + projectId + API.DOWNLOAD_ARIANE_TML_PATH;
-        expectedTmlPath = Paths.get(PATHS.SDB_PROJECT_DIR, projectId + PATHS.TML_FILE_EXTENSION);
-        Files.createDirectories(expectedTmlPath.getParent());
-        Files.deleteIfExists(expectedTmlPath);
-    }
-
-    @AfterEach
-    void deleteTmlFile() throws IOException {
-        Files.deleteIfExists(expectedTmlPath);
+        expectedTmlPath = projectDir.resolve(projectId + PATHS.TML_FILE_EXTENSION);
     }
 
     // ====================================================================== //
@@ -75,7 +72,7 @@ class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest
     // ====================================================================== //
 
     @Test
-    @DisplayName("200 with binary body writes the file under PATHS.SDB_PROJECT_DIR and returns its path")
+    @DisplayName("200 with binary body writes the file under the project directory and returns its path")
     void successWritesFileAndReturnsPath() throws Exception {
         byte[] body = new byte[]{0x50, 0x4B, 0x03, 0x04, 0x14, 0x00, 0x00, 0x00, 0x08, 0x00}; // ZIP magic prefix
         wm.stubFor(get(urlEqualTo(downloadPath))
@@ -91,6 +88,68 @@ class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest
         verifyAuthHeader(getTo(downloadPath));
     }
 
+    @Test
+    @DisplayName("200 replaces an existing local TML and leaves no temp file behind")
+    void successReplacesExistingFileWithoutLeftovers() throws Exception {
+        Files.write(expectedTmlPath, "stale local copy that is longer than the new body".getBytes());
+        byte[] body = new byte[]{0x50, 0x4B, 0x05, 0x06};
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200).withBody(body)));
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.readAllBytes(written)).containsExactly(body);
+        assertThat(leftoverTempFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Large 200 body is streamed to disk byte-for-byte")
+    void largeBodyStreamedIntact() throws Exception {
+        byte[] body = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(body);
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200).withBody(body)));
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.size(written)).isEqualTo(body.length);
+        assertThat(SpeleoDBService.calculateSHA256(Files.readAllBytes(written)))
+                .isEqualTo(SpeleoDBService.calculateSHA256(body));
+    }
+
+    @Test
+    @DisplayName("Untouched local copy is confirmed with If-None-Match and kept on 304")
+    void notModifiedKeepsLocalCopy() throws Exception {
+        byte[] body = new byte[]{0x50, 0x4B, 0x05, 0x06};
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200).withHeader(HEADERS.ETAG, "\"rev-1\"").withBody(body)));
+        service.downloadProject(project);
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.IF_NONE_MATCH, equalTo("\"rev-1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        Path written = service.downloadProject(project);
+
+        assertThat(written).isEqualTo(expectedTmlPath);
+        assertThat(Files.readAllBytes(written)).containsExactly(body);
+        wm.verify(getTo(downloadPath).withHeader(HEADERS.IF_NONE_MATCH, equalTo("\"rev-1\"")));
+    }
+
+    @Test
+    @DisplayName("Locally edited copy is downloaded again without a conditional header")
+    void editedLocalCopyIsNotConditional() throws Exception {
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200).withHeader(HEADERS.ETAG, "\"rev-1\"")
+                        .withBody(new byte[]{0x50, 0x4B, 0x05, 0x06})));
+        service.downloadProject(project);
+        Files.write(expectedTmlPath, "edited locally".getBytes());
+        wm.resetRequests();
+
+        service.downloadProject(project);
+
+        wm.verify(getTo(downloadPath).withHeader(HEADERS.IF_NONE_MATCH, absent()));
+    }
+
     @Test
     @DisplayName("422 -> empty template extracted from resources, NO exception")
     void unprocessableEntity422EmitsEmptyTemplate() throws Exception {
@@ -133,6 +192,21 @@ class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest
         assertThat(thrown.getMessage()).contains(String.valueOf(status)).contains("stubbed-" + status);
     }
 
+    @Test
+    @DisplayName("Failure status keeps an existing local TML untouched and cleans up the temp file")
+    void failureKeepsExistingFile() throws Exception {
+        byte[] previous = "previous download".getBytes();
+        Files.write(expectedTmlPath, previous);
+        stubV2ErrorSingle(get(urlEqualTo(downloadPath)), 500, "boom");
+
+        assertThatThrownBy(() -> service.downloadProject(project))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("boom");
+
+        assertThat(Files.readAllBytes(expectedTmlPath)).containsExactly(previous);
+        assertThat(leftoverTempFiles()).isEmpty();
+    }
+
     @Test
     @DisplayName("Empty error body still includes the unexpected-status hint")
     void emptyBodyContainsHint() {
@@ -148,6 +222,14 @@ class SpeleoDBProjectDownloadApiTest extends AbstractSpeleoDBServiceWireMockTest
     //                              HELPERS                                   //
     // ====================================================================== //
 
+    private List<Path> leftoverTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(expectedTmlPath.getParent())) {
+            return files.filter(p -> p.getFileName().toString().startsWith(projectId)
+                            && p.getFileName().toString().endsWith(PATHS.DOWNLOAD_TEMP_FILE_EXTENSION))
+                    .toList();
+        }
+    }
+
     private static Throwable catchThrowing(ThrowingRunnable r) {
         try {
             r.run();
@@ -0,0 +1,174 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * WireMock-driven tests for resumable {@link SpeleoDBService#downloadProject(JsonObject)}.
+ * Mid-stream disconnects are simulated by advertising a {@code Content-Length} larger than
+ * the body actually sent, so the client sees the connection close part-way through.
+ */
+@DisplayName("SpeleoDBService.downloadProject(...) resume")
+class SpeleoDBProjectDownloadResumeTest extends AbstractSpeleoDBServiceWireMockTest {
+
+    private static final String ETAG = "\"rev-42\"";
+
+    private String projectId;
+    private JsonObject project;
+    private String downloadPath;
+    private Path tmlPath;
+    private Path partialPath;
+    private Path resumePath;
+    private byte[] fullBody;
+
+    @BeforeEach
+    void authenticateAndPrepare() throws Exception {
+        authenticateAgainstWireMock();
+        projectId = "resume-test-" + UUID.randomUUID();
+        project = Json.createObjectBuilder().add("id", projectId).add("name", "Resume Cave").build();
+        downloadPath = API.PROJECTS_ENDPOINT + projectId + API.DOWNLOAD_ARIANE_TML_PATH;
+        tmlPath = projectDir.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+        partialPath = projectDir.resolve(projectId + PATHS.DOWNLOAD_TEMP_FILE_EXTENSION);
+        resumePath = projectDir.resolve(projectId + PATHS.DOWNLOAD_RESUME_FILE_EXTENSION);
+
+        fullBody = new byte[256 * 1024];
+        new Random(7).nextBytes(fullBody);
+    }
+
+    @Test
+    @DisplayName("Mid-stream disconnect is resumed with Range/If-Range and the file is reassembled")
+    void disconnectIsResumedWithinTheSameCall() throws Exception {
+        int cut = fullBody.length / 3;
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.RANGE, absent())
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader(HEADERS.ETAG, ETAG)
+                        .withHeader("Content-Length", String.valueOf(fullBody.length))
+                        .withBody(Arrays.copyOfRange(fullBody, 0, cut))));
+        stubPartialContent(cut);
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.readAllBytes(written)).isEqualTo(fullBody);
+        wm.verify(getRequestedFor(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.RANGE, equalTo("bytes=" + cut + "-"))
+                .withHeader(HEADERS.IF_RANGE, equalTo(ETAG)));
+        assertThat(partialPath).doesNotExist();
+        assertThat(resumePath).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("A partial file left by an earlier call is resumed on the next call")
+    void partialFromEarlierCallIsResumed() throws Exception {
+        int cut = fullBody.length / 2;
+        seedPartial(cut, ETAG);
+        stubPartialContent(cut);
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.readAllBytes(written)).isEqualTo(fullBody);
+        wm.verify(1, getRequestedFor(urlEqualTo(downloadPath)));
+    }
+
+    @Test
+    @DisplayName("Server ignoring the range (200) rewrites the file from scratch")
+    void serverIgnoringRangeFallsBackToFullDownload() throws Exception {
+        seedPartial(1000, ETAG);
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200).withBody(fullBody)));
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.readAllBytes(written)).isEqualTo(fullBody);
+    }
+
+    @Test
+    @DisplayName("416 discards the partial file and restarts with a full download")
+    void rangeNotSatisfiableRestarts() throws Exception {
+        seedPartial(1000, ETAG);
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.RANGE, equalTo("bytes=1000-"))
+                .willReturn(aResponse().withStatus(416)));
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.RANGE, absent())
+                .willReturn(aResponse().withStatus(200).withBody(fullBody)));
+
+        Path written = service.downloadProject(project);
+
+        assertThat(Files.readAllBytes(written)).isEqualTo(fullBody);
+        wm.verify(2, getRequestedFor(urlEqualTo(downloadPath)));
+    }
+
+    @Test
+    @DisplayName("Disconnect without a validator fails and leaves no partial file")
+    void disconnectWithoutValidatorIsNotResumable() {
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Length", String.valueOf(fullBody.length))
+                        .withBody(Arrays.copyOfRange(fullBody, 0, 1000))));
+
+        assertThatThrownBy(() -> service.downloadProject(project)).isInstanceOf(IOException.class);
+
+        assertThat(partialPath).doesNotExist();
+        assertThat(tmlPath).doesNotExist();
+        wm.verify(1, getRequestedFor(urlEqualTo(downloadPath)));
+    }
+
+    @Test
+    @DisplayName("Concurrent downloads of one project share a single transfer")
+    void concurrentDownloadsShareOneTransfer() throws Exception {
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader(HEADERS.ETAG, ETAG)
+                        .withFixedDelay(300)
+                        .withBody(fullBody)));
+
+        CompletableFuture<Path> first = service.downloadProjectAsync(project);
+        Path second = service.downloadProject(project);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(second);
+        assertThat(Files.readAllBytes(second)).isEqualTo(fullBody);
+        wm.verify(1, getRequestedFor(urlEqualTo(downloadPath)));
+    }
+
+    private void stubPartialContent(int from) {
+        wm.stubFor(get(urlEqualTo(downloadPath))
+                .withHeader(HEADERS.RANGE, equalTo("bytes=" + from + "-"))
+                .withHeader(HEADERS.IF_RANGE, equalTo(ETAG))
+                .willReturn(aResponse().withStatus(206)
+                        .withHeader(HEADERS.ETAG, ETAG)
+                        .withHeader(HEADERS.CONTENT_RANGE,
+                                "bytes " + from + "-" + (fullBody.length - 1) + "/" + fullBody.length)
+                        .withBody(Arrays.copyOfRange(fullBody, from, fullBody.length))));
+    }
+
+    private void seedPartial(int length, String validator) throws IOException {
+        Files.write(partialPath, Arrays.copyOfRange(fullBody, 0, length));
+        Files.writeString(resumePath, "validator=" + validator + "\n");
+    }
+}
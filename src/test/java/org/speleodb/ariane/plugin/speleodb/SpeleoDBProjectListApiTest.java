@@ -1,12 +1,16 @@
 package org.speleodb.ariane.plugin.speleodb;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +22,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.HEADERS;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.NETWORK;
 
 import com.github.tomakehurst.wiremock.client.MappingBuilder;
 
@@ -28,7 +33,7 @@ import jakarta.json.JsonObject;
 /**
  * WireMock-driven tests for {@link SpeleoDBService#listProjects()}.
  * Verifies the v2 unwrapped-array contract, the ARIANE/non-WEB_VIEWER filter,
- * the auth-required guard, and every failure status against every error envelope.
+ * streamed page delivery, the auth-required guard, ETag/Last-Modified revalidation, and every failure status against every error envelope.
  */
 @DisplayName("SpeleoDBService.listProjects()")
 class SpeleoDBProjectListApiTest extends AbstractSpeleoDBServiceWireMockTest {
@@ -83,6 +88,26 @@ class SpeleoDBProjectListApiTest extends AbstractSpeleoDBServiceWireMockTest {
         assertThat(result.getJsonObject(1).getString("id")).isEqualTo("kept-2");
     }
 
+    @Test
+    @DisplayName("200 streams kept projects to the page listener in listing order")
+    void streamsPagesWhileParsing() throws Exception {
+        int pageSize = NETWORK.PROJECT_LIST_PAGE_SIZE;
+        var body = Json.createArrayBuilder();
+        for (int i = 0; i < 2 * pageSize + 10; i++) {
+            body.add(arianeProject("kept-" + i, "ADMIN"));
+            body.add(nonArianeProject("dropped-" + i, "COMPASS"));
+        }
+        stubV2Array(get(urlEqualTo(API.PROJECTS_ENDPOINT)), body.build());
+        List<List<JsonObject>> pages = new ArrayList<>();
+
+        JsonArray result = service.listProjects(pages::add);
+
+        assertThat(pages).extracting(List::size).containsExactly(pageSize, pageSize, 10);
+        assertThat(pages.stream().flatMap(List::stream).map(project -> project.getString("id")))
+                .containsExactlyElementsOf(result.stream().map(value -> value.asJsonObject().getString("id")).toList());
+        assertThat(result).hasSize(2 * pageSize + 10);
+    }
+
     @Test
     @DisplayName("Authorization header (Token <test-token>) is sent on every request")
     void sendsAuthHeader() throws Exception {
@@ -93,6 +118,62 @@ class SpeleoDBProjectListApiTest extends AbstractSpeleoDBServiceWireMockTest {
         verifyAuthHeader(getTo(API.PROJECTS_ENDPOINT));
     }
 
+    // ====================================================================== //
+    //                          CONDITIONAL REQUESTS                          //
+    // ====================================================================== //
+
+    @Test
+    @DisplayName("ETag/Last-Modified are sent back; 304 returns the same cached array instance")
+    void notModifiedReturnsCachedListing() throws Exception {
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT))
+                .withHeader(HEADERS.IF_NONE_MATCH, equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT))
+                .withHeader(HEADERS.IF_NONE_MATCH, absent())
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HEADERS.CONTENT_TYPE, "application/json")
+                        .withHeader(HEADERS.ETAG, "\"v1\"")
+                        .withHeader(HEADERS.LAST_MODIFIED, "Wed, 14 Oct 2026 10:00:00 GMT")
+                        .withBody(Json.createArrayBuilder().add(arianeProject("kept", "ADMIN")).build().toString())));
+
+        JsonArray first = service.listProjects();
+        JsonArray second = service.listProjects();
+
+        assertThat(second).isSameAs(first).hasSize(1);
+        wm.verify(getRequestedFor(urlEqualTo(API.PROJECTS_ENDPOINT))
+                .withHeader(HEADERS.IF_NONE_MATCH, equalTo("\"v1\""))
+                .withHeader(HEADERS.IF_MODIFIED_SINCE, equalTo("Wed, 14 Oct 2026 10:00:00 GMT")));
+    }
+
+    @Test
+    @DisplayName("Validators are dropped on logout so the next session starts unconditional")
+    void logoutClearsValidators() throws Exception {
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(HEADERS.CONTENT_TYPE, "application/json")
+                        .withHeader(HEADERS.ETAG, "\"v1\"")
+                        .withBody("[]")));
+
+        service.listProjects();
+        service.logout();
+        authenticateAgainstWireMock();
+        service.listProjects();
+
+        wm.verify(0, getRequestedFor(urlEqualTo(API.PROJECTS_ENDPOINT)).withHeader(HEADERS.IF_NONE_MATCH, equalTo("\"v1\"")));
+    }
+
+    @Test
+    @DisplayName("304 without a cached listing is reported as a failure")
+    void notModifiedWithoutCacheFails() {
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT)).willReturn(aResponse().withStatus(304)));
+
+        assertThatThrownBy(() -> service.listProjects())
+                .isInstanceOf(Exception.class)
+                .hasMessage(MESSAGES.PROJECT_LIST_FAILED_STATUS + "304");
+    }
+
     // ====================================================================== //
     //                             BAD PAYLOAD                                //
     // ====================================================================== //
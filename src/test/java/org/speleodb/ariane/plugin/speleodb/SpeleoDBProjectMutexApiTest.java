@@ -9,6 +9,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 
 import javafx.application.Platform;
@@ -31,6 +32,8 @@ import jakarta.json.JsonObject;
  * WireMock-driven tests for {@link SpeleoDBService#acquireOrRefreshProjectMutex(JsonObject)}
  * and {@link SpeleoDBService#releaseProjectMutex(JsonObject)}. Both expose a {@code boolean}
  * result -- 200 -> true, 4xx/5xx -> false (with a logged warning), network fault -> exception.
+ * Also covers {@link SpeleoDBService#refreshProjectMutex(JsonObject)}, which throws for
+ * anything but an explicit refusal.
  */
 @DisplayName("SpeleoDBService.{acquireOrRefreshProjectMutex, releaseProjectMutex}")
 class SpeleoDBProjectMutexApiTest extends AbstractSpeleoDBServiceWireMockTest {
@@ -150,6 +153,26 @@ class SpeleoDBProjectMutexApiTest extends AbstractSpeleoDBServiceWireMockTest {
                 .isInstanceOf(Exception.class);
     }
 
+    @ParameterizedTest(name = "refresh: HTTP {0} is a refusal")
+    @ValueSource(ints = {403, 409, 423})
+    @DisplayName("refresh: only an explicit refusal reports the lock as lost")
+    void refreshRefusalReturnsFalse(int status) throws Exception {
+        stubV2ErrorSingle(post(urlEqualTo(ACQUIRE_PATH)), status, "lock held by other user");
+
+        assertThat(service.refreshProjectMutex(PROJECT)).isFalse();
+    }
+
+    @ParameterizedTest(name = "refresh: HTTP {0} throws")
+    @ValueSource(ints = {401, 500, 502, 503})
+    @DisplayName("refresh: other failures throw so the held lock is kept and retried")
+    void refreshFailureThrows(int status) {
+        stubV2ErrorSingle(post(urlEqualTo(ACQUIRE_PATH)), status, "upstream hiccup");
+
+        assertThatThrownBy(() -> service.refreshProjectMutex(PROJECT))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(String.valueOf(status));
+    }
+
     // ====================================================================== //
     //                                RELEASE                                 //
     // ====================================================================== //
@@ -11,13 +11,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Random;
 import java.util.UUID;
 
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,7 @@ import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
 import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
 
 import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
@@ -54,16 +56,10 @@ class SpeleoDBProjectUploadApiTest extends AbstractSpeleoDBServiceWireMockTest {
         project = Json.createObjectBuilder().add("id", projectId).add("name", "Upload Cave").build();
         uploadPath = API.PROJECTS_ENDPOINT + projectId + API.UPLOAD_ARIANE_TML_PATH;
 
-        tmlFile = Paths.get(PATHS.SDB_PROJECT_DIR, projectId + PATHS.TML_FILE_EXTENSION);
-        Files.createDirectories(tmlFile.getParent());
+        tmlFile = projectDir.resolve(projectId + PATHS.TML_FILE_EXTENSION);
         Files.write(tmlFile, "non-empty test payload not matching empty_project.tml SHA-256".getBytes());
     }
 
-    @AfterEach
-    void deleteTmlFile() throws IOException {
-        Files.deleteIfExists(tmlFile);
-    }
-
     // ====================================================================== //
     //                          PRE-NETWORK GUARDS                            //
     // ====================================================================== //
@@ -129,6 +125,24 @@ class SpeleoDBProjectUploadApiTest extends AbstractSpeleoDBServiceWireMockTest {
         verifyAuthHeader(putRequestedFor(urlEqualTo(uploadPath)));
     }
 
+    @Test
+    @DisplayName("200 streams the TML from disk with an exact Content-Length")
+    void uploadStreamsFileWithContentLength() throws Exception {
+        byte[] payload = new byte[512 * 1024];
+        new Random(11).nextBytes(payload);
+        Files.write(tmlFile, payload);
+        wm.stubFor(put(urlEqualTo(uploadPath)).willReturn(aResponse().withStatus(200)));
+
+        service.uploadProject("Large survey", project);
+
+        LoggedRequest sent = wm.findAll(putRequestedFor(urlEqualTo(uploadPath))).get(0);
+        byte[] sentBody = sent.getBody();
+        assertThat(sent.getHeader("Content-Length")).isEqualTo(String.valueOf(sentBody.length));
+        String latin1 = new String(sentBody, StandardCharsets.ISO_8859_1);
+        int fileStart = latin1.indexOf("\r\n\r\n", latin1.indexOf("name=\"artifact\"")) + 4;
+        assertThat(Arrays.copyOfRange(sentBody, fileStart, fileStart + payload.length)).isEqualTo(payload);
+    }
+
     @Test
     @DisplayName("304 -> NotModifiedException with PROJECT_UPLOAD_NOT_MODIFIED")
     void notModified304() {
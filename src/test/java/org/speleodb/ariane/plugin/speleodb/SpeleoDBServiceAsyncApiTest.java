@@ -0,0 +1,131 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.API;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.MESSAGES;
+import org.speleodb.ariane.plugin.speleodb.SpeleoDBConstants.PATHS;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+/**
+ * WireMock-driven tests for the {@code *Async} project API of {@link SpeleoDBService}.
+ * Each test checks that the future completes with the same result, or fails with the
+ * same exception, as the blocking counterpart covered by the per-endpoint suites.
+ */
+@DisplayName("SpeleoDBService async project API")
+class SpeleoDBServiceAsyncApiTest extends AbstractSpeleoDBServiceWireMockTest {
+
+    private String projectId;
+    private JsonObject project;
+    private Path tmlFile;
+
+    @BeforeEach
+    void authenticateAndPrepare() throws Exception {
+        authenticateAgainstWireMock();
+        projectId = "async-test-" + UUID.randomUUID();
+        project = Json.createObjectBuilder().add("id", projectId).add("name", "Async Cave").build();
+        tmlFile = projectDir.resolve(projectId + PATHS.TML_FILE_EXTENSION);
+    }
+
+    @Test
+    @DisplayName("listProjectsAsync: completes with the filtered listing")
+    void listProjectsAsyncCompletesWithFilteredListing() throws Exception {
+        stubV2Array(get(urlEqualTo(API.PROJECTS_ENDPOINT)), Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("id", "a").add("type", "ARIANE").add("permission", "ADMIN"))
+                .add(Json.createObjectBuilder().add("id", "b").add("type", "COMPASS").add("permission", "ADMIN"))
+                .build());
+
+        JsonArray projects = service.listProjectsAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(projects).hasSize(1);
+        assertThat(projects.getJsonObject(0).getString("id")).isEqualTo("a");
+        verifyAuthHeader(getTo(API.PROJECTS_ENDPOINT));
+    }
+
+    @Test
+    @DisplayName("listProjectsAsync: non-200 fails with the v2-parsed status error")
+    void listProjectsAsyncFailsWithParsedError() {
+        stubV2ErrorSingle(get(urlEqualTo(API.PROJECTS_ENDPOINT)), 500, "database unavailable");
+
+        assertThatThrownBy(() -> service.listProjectsAsync().join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .hasMessageContaining(MESSAGES.PROJECT_LIST_FAILED_STATUS + "500")
+                .hasMessageContaining("database unavailable");
+    }
+
+    @Test
+    @DisplayName("listProjectsAsync: not authenticated yields a failed future, not a throw")
+    void listProjectsAsyncRequiresAuthentication() {
+        service.logout();
+
+        assertThatThrownBy(() -> service.listProjectsAsync().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("uploadProjectAsync: 304 fails with NotModifiedException")
+    void uploadProjectAsyncNotModified() throws Exception {
+        Files.write(tmlFile, "non-empty test payload".getBytes());
+        wm.stubFor(put(urlEqualTo(API.PROJECTS_ENDPOINT + projectId + API.UPLOAD_ARIANE_TML_PATH))
+                .willReturn(aResponse().withStatus(304)));
+
+        assertThatThrownBy(() -> service.uploadProjectAsync("msg", project, null).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NotModifiedException.class);
+    }
+
+    @Test
+    @DisplayName("downloadProjectAsync: 200 writes the file and leaves no temp file behind")
+    void downloadProjectAsyncWritesFile() throws Exception {
+        byte[] body = new byte[]{0x50, 0x4B, 0x05, 0x06};
+        wm.stubFor(get(urlEqualTo(API.PROJECTS_ENDPOINT + projectId + API.DOWNLOAD_ARIANE_TML_PATH))
+                .willReturn(aResponse().withStatus(200).withBody(body)));
+
+        Path written = service.downloadProjectAsync(project).get(5, TimeUnit.SECONDS);
+
+        assertThat(written).isEqualTo(tmlFile);
+        assertThat(Files.readAllBytes(written)).containsExactly(body);
+        try (var files = Files.list(tmlFile.getParent())) {
+            assertThat(files.filter(p -> p.getFileName().toString().startsWith(projectId)
+                    && !p.equals(tmlFile))).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("acquire/release async: compose without blocking and report server result")
+    void mutexAsyncComposes() throws Exception {
+        wm.stubFor(post(urlEqualTo(API.PROJECTS_ENDPOINT + projectId + API.ACQUIRE_LOCK_PATH))
+                .willReturn(aResponse().withStatus(200)));
+        stubV2ErrorSingle(post(urlEqualTo(API.PROJECTS_ENDPOINT + projectId + API.RELEASE_LOCK_PATH)),
+                409, "not the lock owner");
+
+        Boolean released = service.acquireOrRefreshProjectMutexAsync(project)
+                .thenCompose(acquired -> {
+                    assertThat(acquired).isTrue();
+                    return service.releaseProjectMutexAsync(project);
+                })
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(released).isFalse();
+    }
+}
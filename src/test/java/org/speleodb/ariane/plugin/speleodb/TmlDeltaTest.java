@@ -0,0 +1,100 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the TML entry manifest and the delta encoder built on it.
+ */
+@DisplayName("TML Delta Tests")
+class TmlDeltaTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should pack only new and modified entries and list removed ones")
+    void shouldPackChangedEntries() throws IOException {
+        TmlManifest base = manifest(zip("base.tml", Map.of(
+                "data/a.xml", "a".repeat(1000), "data/b.xml", "b".repeat(1000),
+                "data/c.xml", "c".repeat(1000), "data/d.xml", "d".repeat(1000))));
+        Path edited = zip("edited.tml", Map.of(
+                "data/a.xml", "a".repeat(1000), "data/b.xml", "B".repeat(1000),
+                "data/c.xml", "c".repeat(1000), "data/e.xml", "e".repeat(100)));
+
+        Optional<TmlDelta> delta = TmlDelta.encode(edited, manifest(edited), base, tempDir.resolve("edited.tml.delta"));
+
+        assertThat(delta).isPresent();
+        assertThat(delta.get().getChangedEntries()).containsExactlyInAnyOrder("data/b.xml", "data/e.xml");
+        assertThat(delta.get().getRemovedEntries()).containsExactly("data/d.xml");
+        assertThat(entryNames(delta.get().getFile())).containsExactlyInAnyOrder("data/b.xml", "data/e.xml");
+        try (ZipFile zip = new ZipFile(delta.get().getFile().toFile())) {
+            assertThat(new String(zip.getInputStream(zip.getEntry("data/b.xml")).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("B".repeat(1000));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full upload when nothing or most of the survey changed")
+    void shouldSkipUselessDelta() throws IOException {
+        Path original = zip("original.tml", Map.of("data/a.xml", "a".repeat(1000), "data/b.xml", "b".repeat(1000)));
+        TmlManifest base = manifest(original);
+        Path rewritten = zip("rewritten.tml", Map.of("data/a.xml", "A".repeat(1000), "data/b.xml", "B".repeat(1000)));
+
+        assertThat(TmlDelta.encode(original, base, base, tempDir.resolve("same.tml.delta"))).isEmpty();
+        assertThat(TmlDelta.encode(rewritten, manifest(rewritten), base, tempDir.resolve("rewritten.tml.delta"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should store and load a manifest unchanged")
+    void shouldRoundTripManifest() throws IOException {
+        TmlManifest manifest = manifest(zip("project.tml", Map.of("data/a.xml", "a", "data/with space=sign.xml", "b")));
+        Path manifestFile = tempDir.resolve("project.tml.manifest");
+
+        manifest.store(manifestFile);
+        TmlManifest loaded = TmlManifest.load(manifestFile);
+
+        assertThat(loaded.sha256()).isEqualTo(manifest.sha256());
+        assertThat(loaded.entries()).isEqualTo(manifest.entries());
+        assertThat(loaded.changedSince(manifest)).isEmpty();
+    }
+
+    private static TmlManifest manifest(Path tml) throws IOException {
+        return TmlManifest.of(tml, SpeleoDBService.calculateSHA256(tml));
+    }
+
+    private Path zip(String name, Map<String, String> entries) throws IOException {
+        Path file = tempDir.resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static List<String> entryNames(Path zipFile) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            zip.stream().forEach(entry -> names.add(entry.getName()));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,115 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for TmlVerifier central-directory checks, parallel CRC verification and
+ * incremental re-verification.
+ */
+@DisplayName("TML Verifier Tests")
+class TmlVerifierTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final TmlVerifier verifier = new TmlVerifier(Runnable::run);
+
+    @Test
+    @DisplayName("Should accept a valid archive and report its entry count")
+    void shouldAcceptValidArchive() throws IOException {
+        Path zip = writeZip("valid.tml", 3, 1024);
+
+        assertThat(verifier.verify(zip)).isEqualTo(3);
+        assertThat(verifier.isValid(zip)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a truncated archive from the central directory check alone")
+    void shouldRejectTruncatedArchive() throws IOException {
+        Path zip = writeZip("truncated.tml", 2, 4096);
+        try (RandomAccessFile raf = new RandomAccessFile(zip.toFile(), "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+
+        assertThatThrownBy(() -> TmlVerifier.checkCentralDirectory(zip))
+            .isInstanceOf(ZipException.class);
+        assertThat(verifier.isValid(zip)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject corrupted entry data in large multi-entry archives")
+    void shouldRejectCorruptedEntryInParallelMode() throws IOException {
+        Path zip = writeZip("large.tml", 4, 512 * 1024);
+        TmlVerifier parallel = TmlVerifier.getInstance();
+        assertThat(parallel.isValid(zip)).isTrue();
+
+        corruptFirstEntry(zip);
+
+        assertThatThrownBy(() -> parallel.verify(zip)).isInstanceOf(ZipException.class);
+    }
+
+    @Test
+    @DisplayName("Should skip entries unchanged since the last successful check of the same identity")
+    void shouldSkipUnchangedEntriesIncrementally() throws IOException {
+        Path zip = writeZip("incremental.tml", 2, 4096);
+        Path identity = tempDir.resolve("project.tml");
+        verifier.verify(zip, identity);
+
+        // Damage entry data but leave the central directory untouched
+        corruptFirstEntry(zip);
+
+        assertThat(verifier.verify(zip, identity)).isEqualTo(2);
+        assertThatThrownBy(() -> verifier.verify(zip)).isInstanceOf(ZipException.class);
+
+        verifier.forget(identity);
+        assertThatThrownBy(() -> verifier.verify(zip, identity)).isInstanceOf(ZipException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty file")
+    void shouldRejectEmptyFile() throws IOException {
+        Path empty = Files.createFile(tempDir.resolve("empty.tml"));
+
+        assertThatThrownBy(() -> verifier.verify(empty)).isInstanceOf(ZipException.class);
+    }
+
+    private Path writeZip(String name, int entries, int entrySize) throws IOException {
+        Path zip = tempDir.resolve(name);
+        Random random = new Random(11);
+        try (OutputStream out = Files.newOutputStream(zip); ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries; i++) {
+                byte[] data = new byte[entrySize];
+                random.nextBytes(data);
+                zos.putNextEntry(new ZipEntry("entry" + i + ".bin"));
+                zos.write(data);
+                zos.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    private static void corruptFirstEntry(Path zip) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(zip.toFile(), "rw")) {
+            // Local header (30 bytes) + "entry0.bin" (10 bytes), then well into the data
+            raf.seek(30 + 10 + 200);
+            byte[] garbage = new byte[64];
+            java.util.Arrays.fill(garbage, (byte) 0x5A);
+            raf.write(garbage);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.speleodb.ariane.plugin.speleodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+/**
+ * Unit tests for the durable outbox of uploads made while SpeleoDB was unreachable.
+ */
+@DisplayName("Upload Outbox Tests")
+class UploadOutboxTest {
+
+    private static final String INSTANCE = "https://www.speleodb.org";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should keep one entry per project with the latest snapshot and every message")
+    void shouldSupersedeQueuedSnapshot() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+
+        outbox.enqueue(INSTANCE, project("a"), "First survey", staged("a1", "first"));
+        outbox.enqueue(INSTANCE, project("b"), "Other cave", staged("b1", "other"));
+        outbox.enqueue(INSTANCE, project("a"), "Second survey", staged("a2", "second"));
+
+        List<UploadOutbox.Entry> pending = outbox.pending();
+        assertThat(pending).extracting(UploadOutbox.Entry::projectId).containsExactly("a", "b");
+        assertThat(pending.get(0).message()).isEqualTo("First survey\nSecond survey");
+        assertThat(Files.readString(pending.get(0).toPreparedUpload().getFile())).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("Should survive a restart")
+    void shouldPersistAcrossInstances() throws IOException {
+        new UploadOutbox(tempDir.resolve("outbox")).enqueue(INSTANCE, project("a"), "Survey", staged("a1", "tml"));
+
+        List<UploadOutbox.Entry> pending = new UploadOutbox(tempDir.resolve("outbox")).pending();
+
+        assertThat(pending).singleElement().satisfies(entry -> {
+            assertThat(entry.projectId()).isEqualTo("a");
+            assertThat(entry.instance()).isEqualTo(INSTANCE);
+            assertThat(entry.toPreparedUpload().getSha256()).isEqualTo("sha-a1");
+        });
+    }
+
+    @Test
+    @DisplayName("Should replay in order, keep refused uploads and pause when the server is unreachable")
+    void shouldDrainInOrder() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "One", staged("a1", "one"));
+        outbox.enqueue(INSTANCE, project("b"), "Two", staged("b1", "two"));
+        outbox.enqueue(INSTANCE, project("c"), "Three", staged("c1", "three"));
+        outbox.enqueue("https://stage.speleodb.org", project("d"), "Elsewhere", staged("d1", "four"));
+
+        List<String> attempted = new ArrayList<>();
+        int uploaded = outbox.drain(INSTANCE, entry -> {
+            attempted.add(entry.projectId());
+            if (entry.projectId().equals("b")) {
+                throw new IllegalStateException("Locked by another user");
+            }
+            if (entry.projectId().equals("c")) {
+                throw new ConnectException("Connection refused");
+            }
+        });
+
+        assertThat(uploaded).isEqualTo(1);
+        assertThat(attempted).containsExactly("a", "b", "c");
+        assertThat(outbox.pending()).extracting(UploadOutbox.Entry::projectId).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    @DisplayName("Should keep an entry failing for other reasons than connectivity and go on")
+    void shouldContinuePastOtherIOFailures() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "One", staged("a1", "one"));
+        outbox.enqueue(INSTANCE, project("b"), "Two", staged("b1", "two"));
+
+        int uploaded = outbox.drain(INSTANCE, entry -> {
+            if (entry.projectId().equals("a")) {
+                throw new IOException("Could not read the snapshot");
+            }
+        });
+
+        assertThat(uploaded).isEqualTo(1);
+        assertThat(outbox.pending()).extracting(UploadOutbox.Entry::projectId).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Should drop an entry the server already has")
+    void shouldDropNotModified() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "Survey", staged("a1", "tml"));
+
+        int uploaded = outbox.drain(INSTANCE, entry -> {
+            throw new NotModifiedException("Not modified");
+        });
+
+        assertThat(uploaded).isZero();
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let a direct upload take over the queued entry only after a replay in progress")
+    void shouldSupersedeAfterReplay() throws Exception {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "Offline edit", staged("a1", "old"));
+        CountDownLatch replaying = new CountDownLatch(1);
+        List<String> events = new CopyOnWriteArrayList<>();
+
+        Thread replay = new Thread(() -> outbox.drain(INSTANCE, entry -> {
+            replaying.countDown();
+            Thread.sleep(200);
+            events.add("replayed " + entry.message());
+        }));
+        replay.start();
+        replaying.await();
+        String message = outbox.supersede("a", "Direct save");
+        events.add("direct " + message);
+        replay.join();
+
+        // The queued snapshot went out first, so the direct upload carries only its own message
+        assertThat(events).containsExactly("replayed Offline edit", "direct Direct save");
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand a queued entry's message over to the direct upload replacing it")
+    void shouldSupersedeQueuedEntry() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "Offline edit", staged("a1", "old"));
+
+        assertThat(outbox.supersede("a", "Direct save")).isEqualTo("Offline edit\nDirect save");
+        assertThat(outbox.drain(INSTANCE, entry -> { })).isZero();
+        assertThat(outbox.size()).isEqualTo(1);
+
+        outbox.commitSupersede("a");
+
+        assertThat(outbox.size()).isZero();
+        assertThat(outbox.supersede("a", "Next save")).isEqualTo("Next save");
+    }
+
+    @Test
+    @DisplayName("Should keep the queued entry when the direct upload replacing it fails")
+    void shouldRestoreSupersededEntry() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "Offline edit", staged("a1", "old"));
+
+        outbox.supersede("a", "Direct save");
+        outbox.restoreSupersede("a");
+
+        List<String> replayed = new ArrayList<>();
+        assertThat(outbox.drain(INSTANCE, entry -> replayed.add(entry.message()))).isEqualTo(1);
+        assertThat(replayed).containsExactly("Offline edit");
+    }
+
+    @Test
+    @DisplayName("Should report a project as queued until its entry leaves the outbox")
+    void shouldReportQueuedProject() throws IOException {
+        UploadOutbox outbox = new UploadOutbox(tempDir.resolve("outbox"));
+        outbox.enqueue(INSTANCE, project("a"), "Offline edit", staged("a1", "old"));
+
+        outbox.supersede("a", "Direct save");
+        assertThat(outbox.contains("a")).isTrue();
+        assertThat(outbox.contains("b")).isFalse();
+
+        outbox.commitSupersede("a");
+        assertThat(outbox.contains("a")).isFalse();
+    }
+
+    private PreparedUpload staged(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name + ".tml.staging");
+        Files.writeString(file, content);
+        return new PreparedUpload(file, "sha-" + name, content.length(), 1);
+    }
+
+    private static JsonObject project(String id) {
+        return Json.createObjectBuilder().add("id", id).add("name", "Project " + id).build();
+    }
+}